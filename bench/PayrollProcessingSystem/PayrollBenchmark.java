@@ -0,0 +1,397 @@
+package PayrollProcessingSystem;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * This class runs the benchmarks of the Company operations at several roster sizes and employee type mixes.
+ * Every roster is written by RosterGenerator from a fixed seed, so two runs with the same arguments time exactly
+ * the same work.
+ * Each benchmark is run for a number of warmup iterations that are not reported, and then for a number of
+ * measured iterations; setting up the company or the files for an iteration is never part of the time measured.
+ * The results are printed as one row per benchmark, size, and mix with the mean and standard deviation of the
+ * time per employee (per operation) in nanoseconds.
+ * Usage: java PayrollProcessingSystem.PayrollBenchmark [-sizes 1000,100000,1000000]
+ * [-mixes balanced,parttime,salaried] [-benchmarks add,remove,...] [-warmup 3] [-iterations 5] [-seed 42]
+ * @author Kathleen Eife, Isha Vora
+ */
+public class PayrollBenchmark {
+
+    private static final String[] ALL_BENCHMARKS = {"add", "remove", "setHours", "processPayments", "print",
+            "printByDate", "printByDepartment", "importDatabase", "importAfterSnapshot", "exportDatabase",
+            "dateIsValid", "dateParse"};
+    private static final String[] ALL_MIXES = {"balanced", "parttime", "salaried"};
+    private static final int[] DEFAULT_SIZES = {1000, 100000, 1000000};
+    private static final int DEFAULT_WARMUP = 3;
+    private static final int DEFAULT_ITERATIONS = 5;
+    private static final long DEFAULT_SEED = 42;
+    private static final int MAX_REMOVALS = 1000; //each removal shifts the roster, so only a sample is removed
+    private static final int MAX_HOURS = 100;
+    private static final double NANOS_PER_MILLI = 1e6;
+
+    private static volatile long sink; //results are written here so the JIT cannot drop the work
+
+    private final long seed;
+    private final int warmup;
+    private final int iterations;
+
+    /**
+     * This constructor creates a benchmark runner.
+     * @param seed the seed that every roster is generated from
+     * @param warmup the number of iterations run before measuring
+     * @param iterations the number of iterations measured
+     */
+    public PayrollBenchmark(long seed, int warmup, int iterations) {
+        this.seed = seed;
+        this.warmup = warmup;
+        this.iterations = iterations;
+    }
+
+    /**
+     * This method returns the fractions of Parttime, Fulltime, and Management employees in a mix.
+     * @param mix the name of the mix: balanced, parttime, or salaried
+     * @return the fractions of Parttime, Fulltime, and Management employees
+     */
+    private static double[] getMixFractions(String mix) {
+        if (mix.equals("parttime")) {
+            return new double[] {0.8, 0.15, 0.05};
+        }
+        else if (mix.equals("salaried")) {
+            return new double[] {0.1, 0.7, 0.2};
+        }
+        else if (mix.equals("balanced")) {
+            return new double[] {1.0 / 3, 1.0 / 3, 1.0 / 3};
+        }
+        throw new IllegalArgumentException("Unknown mix " + mix + ".");
+    }
+
+    /**
+     * This method creates the employees of a roster, with hours set for every Parttime employee.
+     * @param lines the lines of the roster in the import format
+     * @return the employees of the roster
+     */
+    Employee[] createEmployees(String[] lines) {
+        Random random = new Random(seed);
+        Employee[] employees = new Employee[lines.length];
+        for (int i = 0; i < lines.length; i++) {
+            String[] fields = lines[i].split(",");
+            Date dateHired = new Date(fields[3]);
+            float amount = Float.parseFloat(fields[4]);
+            if (fields[0].equals("P")) {
+                Parttime parttimeEmp = new Parttime(fields[1], fields[2], dateHired, amount);
+                parttimeEmp.setHoursWorked(random.nextInt(MAX_HOURS + 1));
+                employees[i] = parttimeEmp;
+            }
+            else if (fields[0].equals("F")) {
+                employees[i] = new Fulltime(fields[1], fields[2], dateHired, amount);
+            }
+            else {
+                employees[i] = new Management(fields[1], fields[2], dateHired, amount, Integer.parseInt(fields[5]));
+            }
+        }
+        return employees;
+    }
+
+    /**
+     * This method creates a company holding the employees of a roster.
+     * @param employees the employees of the roster
+     * @return the company
+     */
+    private static Company createCompany(Employee[] employees) {
+        Company company = new Company();
+        company.addAll(Arrays.asList(employees));
+        return company;
+    }
+
+    /**
+     * This method runs one iteration of a benchmark.
+     * @param benchmark the name of the benchmark
+     * @param lines the lines of the roster in the import format
+     * @param employees the employees of the roster
+     * @param rosterFile a file holding the lines of the roster
+     * @param exportFile a file to export to
+     * @return the time taken by the operations, in nanoseconds, and the number of operations timed
+     * @throws IOException if a file cannot be written
+     */
+    private long[] runIteration(String benchmark, String[] lines, Employee[] employees, File rosterFile,
+                                File exportFile) throws IOException {
+        int size = employees.length;
+        long result = 0;
+        long numOperations = size;
+        long start;
+        long end;
+        if (benchmark.equals("add")) {
+            Company company = new Company();
+            start = System.nanoTime();
+            for (Employee employee : employees) {
+                result += company.add(employee) ? 1 : 0;
+            }
+            end = System.nanoTime();
+        }
+        else if (benchmark.equals("remove")) {
+            Company company = createCompany(employees);
+            Random random = new Random(seed);
+            int numRemovals = Math.min(size, MAX_REMOVALS);
+            Employee[] toRemove = new Employee[numRemovals];
+            for (int i = 0; i < numRemovals; i++) {
+                toRemove[i] = employees[random.nextInt(size)];
+            }
+            numOperations = numRemovals;
+            start = System.nanoTime();
+            for (Employee employee : toRemove) {
+                result += company.remove(employee) ? 1 : 0;
+            }
+            end = System.nanoTime();
+        }
+        else if (benchmark.equals("setHours")) {
+            Company company = createCompany(employees);
+            ArrayList<Parttime> hours = new ArrayList<>();
+            for (Employee employee : employees) {
+                if (employee instanceof Parttime) {
+                    Profile profile = employee.getEmployeeProfile();
+                    Parttime input = new Parttime(profile.getName(), profile.getDepartment(), profile.getDateHired(),
+                            0f);
+                    input.setHoursWorked(MAX_HOURS - ((Parttime) employee).getHoursWorked());
+                    hours.add(input);
+                }
+            }
+            numOperations = hours.size();
+            start = System.nanoTime();
+            for (Parttime input : hours) {
+                result += company.setHours(input) ? 1 : 0;
+            }
+            end = System.nanoTime();
+        }
+        else if (benchmark.equals("processPayments")) {
+            Company company = createCompany(employees);
+            start = System.nanoTime();
+            company.processPayments();
+            end = System.nanoTime();
+            result = company.getNumEmployee();
+        }
+        else if (benchmark.startsWith("print")) {
+            Company company = createCompany(employees);
+            company.processPayments();
+            CountingWriter out = new CountingWriter();
+            start = System.nanoTime();
+            if (benchmark.equals("printByDate")) {
+                company.printByDate(out);
+            }
+            else if (benchmark.equals("printByDepartment")) {
+                company.printByDepartment(out);
+            }
+            else {
+                company.print(out);
+            }
+            end = System.nanoTime();
+            result = out.numChars;
+        }
+        else if (benchmark.equals("importDatabase")) {
+            Company company = new Company();
+            start = System.nanoTime();
+            result = company.importDatabase(rosterFile, company) ? company.getNumEmployee() : 0;
+            end = System.nanoTime();
+        }
+        else if (benchmark.equals("importAfterSnapshot")) { //an import after a print, then the next print's snapshot
+            Company company = new Company();
+            company.snapshot();
+            start = System.nanoTime();
+            result = company.importDatabase(rosterFile, company) ? company.snapshot().getNumEmployee() : 0;
+            end = System.nanoTime();
+        }
+        else if (benchmark.equals("exportDatabase")) {
+            Company company = createCompany(employees);
+            company.processPayments();
+            start = System.nanoTime();
+            result = company.exportDatabase(exportFile) ? exportFile.length() : 0;
+            end = System.nanoTime();
+        }
+        else if (benchmark.equals("dateIsValid")) {
+            Date[] dates = new Date[size];
+            for (int i = 0; i < size; i++) {
+                dates[i] = employees[i].getEmployeeProfile().getDateHired();
+            }
+            start = System.nanoTime();
+            for (Date date : dates) {
+                result += date.isValid() ? 1 : 0;
+            }
+            end = System.nanoTime();
+        }
+        else if (benchmark.equals("dateParse")) {
+            String[] dates = new String[size];
+            for (int i = 0; i < size; i++) {
+                dates[i] = lines[i].split(",")[3];
+            }
+            start = System.nanoTime();
+            for (String date : dates) {
+                result += new Date(date).getPackedDate();
+            }
+            end = System.nanoTime();
+        }
+        else {
+            throw new IllegalArgumentException("Unknown benchmark " + benchmark + ".");
+        }
+        sink = result;
+        return new long[] {end - start, numOperations};
+    }
+
+    /**
+     * This method runs a benchmark at one roster size and mix and prints its row of results.
+     * @param benchmark the name of the benchmark
+     * @param size the number of employees
+     * @param mix the name of the employee type mix
+     * @throws IOException if a temporary file cannot be written
+     */
+    public void run(String benchmark, int size, String mix) throws IOException {
+        File rosterFile = File.createTempFile("roster", ".txt");
+        File exportFile = File.createTempFile("export", ".txt");
+        try {
+            double[] fractions = getMixFractions(mix);
+            new RosterGenerator(seed ^ size ^ mix.hashCode(), fractions[0], fractions[1], 0, 0)
+                    .generate(rosterFile, size);
+            String[] lines = Files.readAllLines(rosterFile.toPath()).toArray(new String[0]);
+            Employee[] employees = createEmployees(lines);
+            for (int i = 0; i < warmup; i++) {
+                runIteration(benchmark, lines, employees, rosterFile, exportFile);
+            }
+            double[] nanosPerOperation = new double[iterations];
+            double totalMillis = 0;
+            for (int i = 0; i < iterations; i++) {
+                long[] timing = runIteration(benchmark, lines, employees, rosterFile, exportFile);
+                nanosPerOperation[i] = (double) timing[0] / Math.max(timing[1], 1);
+                totalMillis += timing[0] / NANOS_PER_MILLI;
+            }
+            printRow(benchmark, size, mix, nanosPerOperation, totalMillis / iterations);
+        }
+        finally {
+            rosterFile.delete();
+            exportFile.delete();
+        }
+    }
+
+    /**
+     * This method prints the header of the results table.
+     */
+    private static void printHeader() {
+        System.out.printf("%-18s %9s %-9s %14s %12s %12s%n", "Benchmark", "Size", "Mix", "ns/op", "+-ns/op",
+                "ms/iter");
+    }
+
+    /**
+     * This method prints one row of the results table.
+     * @param benchmark the name of the benchmark
+     * @param size the number of employees
+     * @param mix the name of the employee type mix
+     * @param nanosPerOperation the time per operation of each measured iteration
+     * @param meanMillis the mean time of a measured iteration, in milliseconds
+     */
+    private static void printRow(String benchmark, int size, String mix, double[] nanosPerOperation,
+                                 double meanMillis) {
+        double mean = 0;
+        for (double nanos : nanosPerOperation) {
+            mean += nanos;
+        }
+        mean /= nanosPerOperation.length;
+        double variance = 0;
+        for (double nanos : nanosPerOperation) {
+            variance += (nanos - mean) * (nanos - mean);
+        }
+        double deviation = Math.sqrt(variance / Math.max(nanosPerOperation.length - 1, 1));
+        System.out.printf("%-18s %9d %-9s %14.1f %12.1f %12.2f%n", benchmark, size, mix, mean, deviation,
+                meanMillis);
+    }
+
+    /**
+     * This method parses a comma-separated list of roster sizes.
+     * @param text the list
+     * @return the sizes
+     */
+    private static int[] parseSizes(String text) {
+        String[] parts = text.split(",");
+        int[] sizes = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            sizes[i] = Integer.parseInt(parts[i].trim());
+        }
+        return sizes;
+    }
+
+    /**
+     * This method runs the benchmarks chosen on the command line.
+     * @param args the options described in the class comment
+     * @throws IOException if a temporary file cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        int[] sizes = DEFAULT_SIZES;
+        String[] mixes = ALL_MIXES;
+        String[] benchmarks = ALL_BENCHMARKS;
+        int warmup = DEFAULT_WARMUP;
+        int iterations = DEFAULT_ITERATIONS;
+        long seed = DEFAULT_SEED;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "-sizes":
+                    sizes = parseSizes(value);
+                    break;
+                case "-mixes":
+                    mixes = value.split(",");
+                    break;
+                case "-benchmarks":
+                    benchmarks = value.split(",");
+                    break;
+                case "-warmup":
+                    warmup = Integer.parseInt(value);
+                    break;
+                case "-iterations":
+                    iterations = Integer.parseInt(value);
+                    break;
+                case "-seed":
+                    seed = Long.parseLong(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + args[i] + ".");
+            }
+        }
+        PayrollBenchmark runner = new PayrollBenchmark(seed, warmup, Math.max(iterations, 1));
+        printHeader();
+        for (String benchmark : benchmarks) {
+            for (int size : sizes) {
+                for (String mix : mixes) {
+                    runner.run(benchmark, size, mix);
+                }
+            }
+        }
+    }
+
+    /**
+     * This class is a Writer that only counts the characters written to it, so that printing is timed without
+     * the cost of a real destination.
+     */
+    private static class CountingWriter extends Writer {
+        private long numChars;
+
+        @Override
+        public void write(char[] buffer, int offset, int length) {
+            numChars += length;
+        }
+
+        @Override
+        public Writer append(CharSequence text) {
+            numChars += text.length();
+            return this;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
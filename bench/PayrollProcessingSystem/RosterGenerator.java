@@ -0,0 +1,277 @@
+package PayrollProcessingSystem;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Random;
+
+/**
+ * This class generates synthetic rosters in the import format read by Company.importDatabase():
+ * P,name,department,mm/dd/yyyy,hourlyPayRate or F,name,department,mm/dd/yyyy,salary or
+ * M,name,department,mm/dd/yyyy,salary,managementCode.
+ * The same seed and settings always produce the same file. Lines are written one at a time through a reused
+ * buffer, so the memory used does not depend on the number of lines.
+ * Every line has a new profile, except for the duplicate lines, which repeat the profile of an earlier line and so
+ * are rejected by Company.add(), and the malformed lines, which are not in the import format. Note that an import
+ * stops at the first malformed line.
+ * Usage: java PayrollProcessingSystem.RosterGenerator file [-lines 1000000] [-seed 42] [-parttime 0.34]
+ * [-fulltime 0.33] [-duplicates 0] [-malformed 0]
+ * @author Kathleen Eife, Isha Vora
+ */
+public class RosterGenerator {
+
+    private final long seed;
+    private final double parttimeFraction;
+    private final double fulltimeFraction; //the remaining employees are Management employees
+    private final double duplicateRatio;
+    private final double malformedRatio;
+
+    public static final double DEFAULT_PARTTIME_FRACTION = 0.34;
+    public static final double DEFAULT_FULLTIME_FRACTION = 0.33;
+    private static final long DEFAULT_LINES = 1000000;
+    private static final long DEFAULT_SEED = 42;
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+
+    private static final String[] FIRST_NAMES = {"Jane", "John", "Charlie", "Amy", "Eric", "Grace", "Alan", "Ada",
+            "Linus", "Barbara", "Dennis", "Frances", "Ken", "Radia", "Donald", "Edsger", "Margaret", "Tim", "Anita",
+            "Niklaus"};
+    private static final String[] LAST_NAMES = {"Doe", "Brown", "Harrison", "Haskell", "Hopper", "Turing",
+            "Lovelace", "Torvalds", "Liskov", "Ritchie", "Allen", "Thompson", "Perlman", "Knuth", "Dijkstra",
+            "Hamilton", "Lee", "Borg", "Wirth", "Kay"};
+    private static final String[] DEPARTMENTS = {"CS", "ECE", "IT"};
+    private static final int NUM_NAME_PAIRS = FIRST_NAMES.length * LAST_NAMES.length;
+    private static final int FIRST_YEAR_HIRED = 1990;
+    private static final int NUM_YEARS_HIRED = 31;
+    private static final int[] DAYS_IN_MONTH = {31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+    private static final int MIN_RATE_CENTS = 1000;
+    private static final int RATE_RANGE_CENTS = 4000;
+    private static final int MIN_SALARY = 30000;
+    private static final int SALARY_RANGE = 120000;
+    private static final int MIN_MANAGEMENT_SALARY = 60000;
+    private static final int MANAGEMENT_SALARY_RANGE = 140000;
+    private static final int NUM_MANAGEMENT_CODES = 3;
+    private static final int NUM_MALFORMED_KINDS = 4;
+
+    /**
+     * This constructor creates a generator with the default type distribution and no duplicate or malformed lines.
+     * @param seed the seed of the generated roster
+     */
+    public RosterGenerator(long seed) {
+        this(seed, DEFAULT_PARTTIME_FRACTION, DEFAULT_FULLTIME_FRACTION, 0, 0);
+    }
+
+    /**
+     * This constructor creates a generator.
+     * @param seed the seed of the generated roster
+     * @param parttimeFraction the fraction of employees that are Parttime employees
+     * @param fulltimeFraction the fraction of employees that are Fulltime employees; the rest are Management
+     * @param duplicateRatio the fraction of lines that repeat the profile of an earlier line
+     * @param malformedRatio the fraction of lines that are not in the import format
+     */
+    public RosterGenerator(long seed, double parttimeFraction, double fulltimeFraction, double duplicateRatio,
+                           double malformedRatio) {
+        if (parttimeFraction < 0 || fulltimeFraction < 0 || parttimeFraction + fulltimeFraction > 1
+                || duplicateRatio < 0 || malformedRatio < 0 || duplicateRatio + malformedRatio > 1) {
+            throw new IllegalArgumentException("Fractions must be between 0 and 1 and add up to at most 1.");
+        }
+        this.seed = seed;
+        this.parttimeFraction = parttimeFraction;
+        this.fulltimeFraction = fulltimeFraction;
+        this.duplicateRatio = duplicateRatio;
+        this.malformedRatio = malformedRatio;
+    }
+
+    /**
+     * This method writes a roster to a file.
+     * @param targetFile the file to write to
+     * @param numLines the number of lines to write
+     * @throws IOException if the file cannot be written
+     */
+    public void generate(File targetFile, long numLines) throws IOException {
+        try (Writer out = new BufferedWriter(new FileWriter(targetFile), WRITE_BUFFER_SIZE)) {
+            generate(out, numLines);
+        }
+    }
+
+    /**
+     * This method writes a roster to an Appendable, one line at a time.
+     * @param out the Appendable to write to, such as a Writer or a StringBuilder
+     * @param numLines the number of lines to write
+     * @throws IOException if the lines cannot be written
+     */
+    public void generate(Appendable out, long numLines) throws IOException {
+        Random random = new Random(seed);
+        StringBuilder line = new StringBuilder();
+        long numProfiles = 0;
+        for (long i = 0; i < numLines; i++) {
+            line.setLength(0);
+            double kind = random.nextDouble();
+            if (kind < malformedRatio) {
+                appendMalformed(line, random, numProfiles);
+            }
+            else if (kind < malformedRatio + duplicateRatio && numProfiles > 0) {
+                appendEmployee(line, random, (long) (random.nextDouble() * numProfiles));
+            }
+            else {
+                appendEmployee(line, random, numProfiles);
+                numProfiles++;
+            }
+            line.append('\n');
+            out.append(line);
+        }
+    }
+
+    /**
+     * This private helper method appends a line for an employee with a given profile.
+     * @param line the StringBuilder to append to
+     * @param random the random numbers of the roster
+     * @param profileNumber the number of the profile
+     */
+    private void appendEmployee(StringBuilder line, Random random, long profileNumber) {
+        double type = random.nextDouble();
+        if (type < parttimeFraction) {
+            line.append("P,");
+            appendProfile(line, profileNumber);
+            int rateCents = MIN_RATE_CENTS + random.nextInt(RATE_RANGE_CENTS);
+            line.append(',').append(rateCents / 100).append('.');
+            line.append((char) ('0' + (rateCents / 10) % 10)).append((char) ('0' + rateCents % 10));
+        }
+        else if (type < parttimeFraction + fulltimeFraction) {
+            line.append("F,");
+            appendProfile(line, profileNumber);
+            line.append(',').append(MIN_SALARY + random.nextInt(SALARY_RANGE));
+        }
+        else {
+            line.append("M,");
+            appendProfile(line, profileNumber);
+            line.append(',').append(MIN_MANAGEMENT_SALARY + random.nextInt(MANAGEMENT_SALARY_RANGE));
+            line.append(',').append(random.nextInt(NUM_MANAGEMENT_CODES) + 1);
+        }
+    }
+
+    /**
+     * This private helper method appends the name, department, and date hired of a profile.
+     * The profile only depends on the seed and the profile number, so a duplicate line can repeat an earlier
+     * profile without the earlier lines being kept, and the number in the name makes every profile unique.
+     * @param line the StringBuilder to append to
+     * @param profileNumber the number of the profile
+     */
+    private void appendProfile(StringBuilder line, long profileNumber) {
+        long bits = mix(seed + profileNumber);
+        line.append(FIRST_NAMES[(int) (profileNumber % FIRST_NAMES.length)]).append(' ');
+        line.append(LAST_NAMES[(int) ((profileNumber / FIRST_NAMES.length) % LAST_NAMES.length)]);
+        long suffix = profileNumber / NUM_NAME_PAIRS;
+        if (suffix > 0) {
+            line.append(' ').append(suffix);
+        }
+        line.append(',').append(DEPARTMENTS[(int) Long.remainderUnsigned(bits, DEPARTMENTS.length)]).append(',');
+        int year = FIRST_YEAR_HIRED + (int) Long.remainderUnsigned(bits >>> 16, NUM_YEARS_HIRED);
+        int month = (int) Long.remainderUnsigned(bits >>> 32, Date.LAST_MONTH) + 1;
+        int day = (int) Long.remainderUnsigned(bits >>> 40, getDaysInMonth(month, year)) + 1;
+        line.append(month).append('/').append(day).append('/').append(year);
+    }
+
+    /**
+     * This private helper method returns the number of days in a month.
+     * @param month the month, from 1 to 12
+     * @param year the year
+     * @return the number of days in the month
+     */
+    private static int getDaysInMonth(int month, int year) {
+        boolean isLeapYear = (year % Date.QUADRENNIAL == 0)
+                && (year % Date.CENTENNIAL != 0 || year % Date.QUARTERCENTENNIAL == 0);
+        if (month == Date.FEBRUARY && isLeapYear) {
+            return Date.LAST_DAY_FEB_LEAP_YEAR;
+        }
+        return DAYS_IN_MONTH[month - 1];
+    }
+
+    /**
+     * This private helper method appends a line that is not in the import format: an unknown employee type,
+     * a missing field, an amount that is not a number, or a date that is not a date.
+     * @param line the StringBuilder to append to
+     * @param random the random numbers of the roster
+     * @param profileNumber the number of a profile to base the line on
+     */
+    private void appendMalformed(StringBuilder line, Random random, long profileNumber) {
+        int malformedKind = random.nextInt(NUM_MALFORMED_KINDS);
+        if (malformedKind == 0) {
+            line.append("X,");
+            appendProfile(line, profileNumber);
+            line.append(',').append(MIN_SALARY);
+        }
+        else if (malformedKind == 1) {
+            line.append("M,");
+            appendProfile(line, profileNumber);
+            line.append(',').append(MIN_MANAGEMENT_SALARY);
+        }
+        else if (malformedKind == 2) {
+            line.append("F,");
+            appendProfile(line, profileNumber);
+            line.append(",salary");
+        }
+        else {
+            line.append("P,Malformed ").append(profileNumber).append(",CS,hired,").append(MIN_RATE_CENTS / 100);
+        }
+    }
+
+    /**
+     * This private helper method scrambles the bits of a number (the SplitMix64 finalizer).
+     * @param value a number
+     * @return the scrambled number
+     */
+    private static long mix(long value) {
+        long bits = value * 0x9E3779B97F4A7C15L;
+        bits = (bits ^ (bits >>> 30)) * 0xBF58476D1CE4E5B9L;
+        bits = (bits ^ (bits >>> 27)) * 0x94D049BB133111EBL;
+        return bits ^ (bits >>> 31);
+    }
+
+    /**
+     * This method writes a roster file with the settings given on the command line.
+     * @param args the file to write, followed by the options described in the class comment
+     * @throws IOException if the file cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: RosterGenerator file [-lines n] [-seed n] [-parttime f] [-fulltime f]"
+                    + " [-duplicates f] [-malformed f]");
+            return;
+        }
+        long numLines = DEFAULT_LINES;
+        long seed = DEFAULT_SEED;
+        double parttimeFraction = DEFAULT_PARTTIME_FRACTION;
+        double fulltimeFraction = DEFAULT_FULLTIME_FRACTION;
+        double duplicateRatio = 0;
+        double malformedRatio = 0;
+        for (int i = 1; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "-lines":
+                    numLines = Long.parseLong(value);
+                    break;
+                case "-seed":
+                    seed = Long.parseLong(value);
+                    break;
+                case "-parttime":
+                    parttimeFraction = Double.parseDouble(value);
+                    break;
+                case "-fulltime":
+                    fulltimeFraction = Double.parseDouble(value);
+                    break;
+                case "-duplicates":
+                    duplicateRatio = Double.parseDouble(value);
+                    break;
+                case "-malformed":
+                    malformedRatio = Double.parseDouble(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + args[i] + ".");
+            }
+        }
+        new RosterGenerator(seed, parttimeFraction, fulltimeFraction, duplicateRatio, malformedRatio)
+                .generate(new File(args[0]), numLines);
+    }
+}
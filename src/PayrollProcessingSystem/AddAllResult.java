@@ -0,0 +1,62 @@
+package PayrollProcessingSystem;
+
+/**
+ * This class holds the outcome of adding a batch of employees to the company with Company.addAll().
+ * For each employee in the batch, in batch order, it records whether the employee was added or rejected as a
+ * duplicate of an employee already in the company or earlier in the batch.
+ * @author Kathleen Eife, Isha Vora
+ */
+public class AddAllResult {
+    private final boolean[] isAdded;
+    private int numAdded;
+
+    /**
+     * This constructor creates a result for a batch of the given size with no employees added yet.
+     * @param batchSize the number of employees in the batch
+     */
+    AddAllResult(int batchSize) {
+        isAdded = new boolean[batchSize];
+    }
+
+    /**
+     * This method records that the employee at a position in the batch was added.
+     * @param index the position of the employee in the batch
+     */
+    void setAdded(int index) {
+        isAdded[index] = true;
+        numAdded++;
+    }
+
+    /**
+     * This method checks if the employee at a position in the batch was added.
+     * @param index the position of the employee in the batch
+     * @return true if the employee was added, false if it was a duplicate
+     */
+    public boolean isAdded(int index) {
+        return isAdded[index];
+    }
+
+    /**
+     * This getter method returns the number of employees in the batch.
+     * @return the number of employees in the batch
+     */
+    public int size() {
+        return isAdded.length;
+    }
+
+    /**
+     * This getter method returns the number of employees that were added.
+     * @return numAdded the number of employees that were added
+     */
+    public int getNumAdded() {
+        return numAdded;
+    }
+
+    /**
+     * This getter method returns the number of employees that were rejected as duplicates.
+     * @return the number of employees that were rejected as duplicates
+     */
+    public int getNumDuplicates() {
+        return isAdded.length - numAdded;
+    }
+}
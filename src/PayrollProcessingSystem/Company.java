@@ -1,11 +1,28 @@
 package PayrollProcessingSystem;
 
-import java.io.FileNotFoundException;
-import java.util.Calendar;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
-import java.util.Scanner;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 /**
  * This class is an array-based container class that implements the employee database.
@@ -17,34 +34,267 @@ import java.util.Scanner;
 public class Company {
     private Employee[] emplist; //list of employees -> initial capacity = 4
     private int numEmployee;
+    private HashMap<Profile, Employee> empIndex; //profile -> employee, kept in step with emplist
+    private TreeMap<Date, LinkedHashSet<Employee>> dateIndex; //date hired -> employees in insertion order
+    private TreeMap<String, LinkedHashSet<Employee>> departmentIndex; //department -> employees in insertion order
+    private CompanyJournal journal; //records add/remove/setHours when attached, or null
+    private Set<Employee> changedEmployees; //employees whose payment is out of date since the last payroll run
+    private boolean isFullRunNeeded; //true if every payment is out of date, not just those of changedEmployees
+    private PayrollTotals companyTotals;
+    private TreeMap<String, PayrollTotals> departmentTotals;
+    private TreeMap<String, PayrollTotals> employeeTypeTotals;
+    private TreeMap<Integer, PayrollTotals> managementCodeTotals;
+    private RosterSnapshot roster; //persistent copy of the roster as of the last snapshot(), or null
+    private ArrayList<RosterChange> rosterChanges; //changes since the last snapshot(), or null to rebuild roster
+    private long nextRosterKey; //the roster key of the next employee added
+    private NameIndex nameIndex; //case-folded name -> employees, built on the first name search, or null
+    private volatile boolean isPayingInCents; //true if payments are calculated exactly in cents by PayrollCents
 
     private static final int INITIAL_CAPACITY = 4;
-    private static final int INCREASE_CAPACITY = 4;
+    private static final int GROWTH_FACTOR = 2;
     private static final int NOT_FOUND_IN_COMPANY = -1;
-    private static final int EXPORT_FILE_START_INDEX = 50;
+    public static final String FULLTIME_TYPE = "Full Time";
+    public static final String PARTTIME_TYPE = "Part Time";
+    public static final String MANAGEMENT_TYPE = "Management";
+
+    private static final String EMPTY_DATABASE_MESSAGE = "Employee database is empty." + "\n";
+    static final String PRINT_HEADER = "--Printing earning statements for all employees--" + "\n";
+    static final String PRINT_BY_DATE_HEADER = "--Printing earning statements by date hired--" + "\n";
+    static final String PRINT_BY_DEPARTMENT_HEADER = "--Printing earning statements by department--" + "\n";
+
+    public static final int DEFAULT_SEQUENTIAL_THRESHOLD = 4096;
+    private static final int INITIAL_PAGE_CAPACITY = 1024;
+    private static final int ROSTER_REBUILD_FRACTION = 32; //rebuild the roster past numEmployee / 32 changes
+    private static final int INCREMENTAL_RUN_FRACTION = 4; //pay only the changes up to numEmployee / 4 of them
+
+    /**
+     * This class is an add or a remove made since the last snapshot(), which the next snapshot() applies to the
+     * persistent copy of the roster.
+     */
+    private static final class RosterChange {
+        private final Employee employee;
+        private final long key;
+        private final boolean isAdded;
+
+        /**
+         * This constructor creates a change.
+         * @param employee the employee that was added or removed
+         * @param key the roster key of the employee
+         * @param isAdded true if the employee was added, false if it was removed
+         */
+        RosterChange(Employee employee, long key, boolean isAdded) {
+            this.employee = employee;
+            this.key = key;
+            this.isAdded = isAdded;
+        }
+    }
 
     /**
      * This default constructor creates an empty array structure with an initial capacity of 4.
      */
     public Company() {
         emplist = new Employee[INITIAL_CAPACITY];
+        empIndex = new HashMap<>();
+        dateIndex = new TreeMap<>();
+        departmentIndex = new TreeMap<>();
+        changedEmployees = Collections.newSetFromMap(new IdentityHashMap<>());
+        clearTotals();
     }
 
     /**
      * This method finds an employee in the bag structure.
+     * The employee is looked up by profile in the hash index, then matched with the equals() method of the
+     * given employee so that the employee type is still checked (e.g. setHours() only matches a Parttime).
      * @param employee an employee object
+     * @return the employee object in the company that matches the given employee, or null if the employee
+     * is not in the company
+     */
+    private Employee find(Employee employee) {
+        Employee empInCompany = empIndex.get(employee.getEmployeeProfile());
+        if (empInCompany != null && employee.equals(empInCompany)) {
+            return empInCompany;
+        }
+        return null;
+    }
+
+    /**
+     * This method finds the index of an employee object in the Employee[] emplist array.
+     * @param employee an employee object that is in the company
      * @return i an integer that represents the index of the employee object in the Employee[] emplist array,
      * or returns NOT_FOUND_IN_COMPANY if the employee is not in the company
      */
-    private int find(Employee employee) {
+    private int indexOf(Employee employee) {
         for (int i = 0; i < numEmployee; i++) {
-            if (employee.equals(emplist[i])) {
+            if (emplist[i] == employee) {
                 return i;
             }
         }
         return NOT_FOUND_IN_COMPANY;
     }
 
+    /**
+     * This private helper method adds an employee to a sorted index under the given key.
+     * @param index a sorted index of employees
+     * @param key the key of the employee in the index
+     * @param employee an employee object
+     */
+    private static <K> void addToIndex(TreeMap<K, LinkedHashSet<Employee>> index, K key, Employee employee) {
+        LinkedHashSet<Employee> employees = index.get(key);
+        if (employees == null) {
+            employees = new LinkedHashSet<>();
+            index.put(key, employees);
+        }
+        employees.add(employee);
+    }
+
+    /**
+     * This private helper method removes an employee from a sorted index.
+     * @param index a sorted index of employees
+     * @param key the key of the employee in the index
+     * @param employee an employee object that is in the index
+     */
+    private static <K> void removeFromIndex(TreeMap<K, LinkedHashSet<Employee>> index, K key, Employee employee) {
+        LinkedHashSet<Employee> employees = index.get(key);
+        employees.remove(employee);
+        if (employees.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    /**
+     * This getter method returns the number of employees in the company.
+     * @return numEmployee the number of employees in the company
+     */
+    public int getNumEmployee() {
+        return numEmployee;
+    }
+
+    /**
+     * This private helper method resets all of the payroll totals to empty.
+     */
+    private void clearTotals() {
+        companyTotals = new PayrollTotals();
+        departmentTotals = new TreeMap<>();
+        employeeTypeTotals = new TreeMap<>();
+        managementCodeTotals = new TreeMap<>();
+    }
+
+    /**
+     * This private helper method adds an employee to a group's totals, creating the group if it is new and
+     * dropping it once it has no employees.
+     * @param totalsByGroup the totals of each group
+     * @param group the group of the employee
+     * @param sign 1 to add the employee, -1 to remove the employee
+     * @param employee an employee object
+     */
+    private static <K> void addToTotals(TreeMap<K, PayrollTotals> totalsByGroup, K group, int sign,
+                                        Employee employee) {
+        PayrollTotals totals = totalsByGroup.get(group);
+        if (totals == null) {
+            totals = new PayrollTotals();
+            totalsByGroup.put(group, totals);
+        }
+        addToTotals(totals, sign, employee);
+        if (totals.getNumEmployee() == 0) {
+            totalsByGroup.remove(group);
+        }
+    }
+
+    /**
+     * This private helper method adds an employee to a set of totals.
+     * @param totals the totals to add to
+     * @param sign 1 to add the employee, -1 to remove the employee
+     * @param employee an employee object
+     */
+    private static void addToTotals(PayrollTotals totals, int sign, Employee employee) {
+        if (employee instanceof Fulltime) {
+            totals.add(sign, employee.getPayment(), ((Fulltime) employee).getSalary(), 0);
+        }
+        else if (employee instanceof Parttime) {
+            totals.add(sign, employee.getPayment(), 0f, ((Parttime) employee).getOvertimeHours());
+        }
+        else {
+            totals.add(sign, employee.getPayment(), 0f, 0);
+        }
+    }
+
+    /**
+     * This private helper method adds an employee to, or removes an employee from, every payroll total it
+     * belongs to: the company, its department, its employee type, and its management code.
+     * @param sign 1 to add the employee, -1 to remove the employee
+     * @param employee an employee object
+     */
+    private void updateTotals(int sign, Employee employee) {
+        addToTotals(companyTotals, sign, employee);
+        addToTotals(departmentTotals, employee.getEmployeeProfile().getDepartment(), sign, employee);
+        addToTotals(employeeTypeTotals, getEmployeeType(employee), sign, employee);
+        if (employee instanceof Management) {
+            addToTotals(managementCodeTotals, ((Management) employee).getManagementCode(), sign, employee);
+        }
+    }
+
+    /**
+     * This private helper method returns the employee type of an employee.
+     * @param employee an employee object
+     * @return FULLTIME_TYPE, PARTTIME_TYPE, or MANAGEMENT_TYPE
+     */
+    private static String getEmployeeType(Employee employee) {
+        if (employee instanceof Management) {
+            return MANAGEMENT_TYPE;
+        }
+        else if (employee instanceof Fulltime) {
+            return FULLTIME_TYPE;
+        }
+        return PARTTIME_TYPE;
+    }
+
+    /**
+     * This private helper method calculates the payment of an employee and updates the payroll totals.
+     * @param employee an employee object in the company
+     */
+    private void calculatePayment(Employee employee) {
+        updateTotals(-1, employee);
+        payEmployee(employee);
+        updateTotals(1, employee);
+    }
+
+    /**
+     * This private helper method calculates and sets the payment of an employee, exactly in cents if the company
+     * is paying in cents, and with the employee's calculatePayment() otherwise.
+     * @param employee an employee object in the company
+     */
+    private void payEmployee(Employee employee) {
+        if (isPayingInCents) {
+            employee.setPayment(PayrollCents.computePayment(employee));
+        }
+        else {
+            employee.calculatePayment();
+        }
+    }
+
+    /**
+     * This method chooses how every later payroll run calculates the payments: exactly in whole cents with the
+     * PayrollCents batch kernel, or in float dollars with each employee's calculatePayment(). Payments already
+     * calculated keep their value until the next payroll run, which calculates every payment again if the choice
+     * changed.
+     * @param isPayingInCents true to calculate the payments in cents, false to calculate them in float dollars
+     */
+    public void setPayingInCents(boolean isPayingInCents) {
+        if (isPayingInCents != this.isPayingInCents) {
+            isFullRunNeeded = true;
+        }
+        this.isPayingInCents = isPayingInCents;
+    }
+
+    /**
+     * This method checks if payroll runs calculate the payments exactly in cents. It only reads one volatile field,
+     * so a ConcurrentCompany can call it without holding a lock.
+     * @return true if the payments are calculated in cents, false if they are calculated in float dollars
+     */
+    public boolean isPayingInCents() {
+        return isPayingInCents;
+    }
+
     /**
      * This method checks if the emplist array is empty.
      * @return true if the emplist array is empty, false otherwise
@@ -57,14 +307,20 @@ public class Company {
     }
 
     /**
-     * This method increases the array capacity by 4.
+     * This method doubles the array capacity.
      */
     private void grow() {
-        Employee[] tempEmpList = new Employee[numEmployee + INCREASE_CAPACITY];
-        for (int i = 0; i < numEmployee; i++) {
-            tempEmpList[i] = emplist[i];
+        ensureCapacity(emplist.length * GROWTH_FACTOR);
+    }
+
+    /**
+     * This method increases the array capacity so that it can hold at least the given number of employees.
+     * @param capacity the number of employees the array must be able to hold
+     */
+    private void ensureCapacity(int capacity) {
+        if (emplist.length < capacity) {
+            emplist = Arrays.copyOf(emplist, capacity);
         }
-        emplist = tempEmpList;
     }
 
     /**
@@ -73,25 +329,55 @@ public class Company {
      * @return true if the employee is successfully added to the company, false otherwise
      */
     public boolean add(Employee employee) {
-
         Profile empProfile = employee.getEmployeeProfile();
-        String empName = empProfile.getName();
-        String empDept = empProfile.getDepartment();
-        Date empDateHired = empProfile.getDateHired();
-        Employee empToCheck = new Employee(empName, empDept, empDateHired);
-        int indexOfEmp = find(empToCheck);
-
-        if (indexOfEmp == NOT_FOUND_IN_COMPANY) {
-            if (emplist.length <= numEmployee) {
-                grow();
-            }
-            emplist[numEmployee] = employee;
-            numEmployee++;
-            return true;
-        }
-        else {
+        if (empIndex.containsKey(empProfile)) {
             return false;
         }
+        if (emplist.length <= numEmployee) {
+            grow();
+        }
+        emplist[numEmployee] = employee;
+        numEmployee++;
+        empIndex.put(empProfile, employee);
+        addToIndex(dateIndex, empProfile.getDateHired(), employee);
+        addToIndex(departmentIndex, empProfile.getDepartment(), employee);
+        changedEmployees.add(employee);
+        updateTotals(1, employee);
+        employee.rosterKey = nextRosterKey;
+        nextRosterKey++;
+        if (rosterChanges != null) {
+            addRosterChange(employee, true);
+        }
+        if (nameIndex != null) {
+            nameIndex.add(employee);
+        }
+        if (journal != null) {
+            journal.logAdd(employee);
+        }
+        return true;
+    }
+
+    /**
+     * This method adds a batch of employees to the company.
+     * The array is grown at most once for the whole batch, at least by GROWTH_FACTOR so that a run of small
+     * batches still grows it geometrically, and each employee is checked against the employees already
+     * in the company and the employees added earlier in the batch, so the first occurrence of a duplicate wins.
+     * @param employees the employees to add, in the order they should be added
+     * @return the outcome for each employee in the batch
+     */
+    public AddAllResult addAll(Collection<? extends Employee> employees) {
+        AddAllResult result = new AddAllResult(employees.size());
+        if (emplist.length < numEmployee + employees.size()) {
+            ensureCapacity(Math.max(numEmployee + employees.size(), emplist.length * GROWTH_FACTOR));
+        }
+        int index = 0;
+        for (Employee employee : employees) {
+            if (add(employee)) {
+                result.setAdded(index);
+            }
+            index++;
+        }
+        return result;
     }
 
     /**
@@ -100,16 +386,31 @@ public class Company {
      * @return true if the employee is successfully removed, false otherwise
      */
     public boolean remove(Employee employee) { //maintain the original sequence
-
-        int indexOfEmp = find(employee);
-        if (indexOfEmp == NOT_FOUND_IN_COMPANY) {
+        Employee empToRemove = find(employee);
+        if (empToRemove == null) {
             return false;
         }
+        int indexOfEmp = indexOf(empToRemove);
         for (int i = indexOfEmp; i < numEmployee - 1; i++) {
             emplist[i] = emplist[i + 1];
         }
         numEmployee--; //reduce number of employees by one after removing one employee
         emplist[numEmployee] = new Employee();
+        Profile empProfile = empToRemove.getEmployeeProfile();
+        empIndex.remove(empProfile);
+        removeFromIndex(dateIndex, empProfile.getDateHired(), empToRemove);
+        removeFromIndex(departmentIndex, empProfile.getDepartment(), empToRemove);
+        changedEmployees.remove(empToRemove);
+        updateTotals(-1, empToRemove);
+        if (rosterChanges != null) {
+            addRosterChange(empToRemove, false);
+        }
+        if (nameIndex != null) {
+            nameIndex.remove(empToRemove);
+        }
+        if (journal != null) {
+            journal.logRemove(empProfile);
+        }
         return true;
     }
 
@@ -119,14 +420,20 @@ public class Company {
      * @return true if the hours are successfully set, false otherwise
      */
     public boolean setHours(Employee employee) { //set working hours for a part time
-        int indexOfEmp = find(employee);
-        if (indexOfEmp == NOT_FOUND_IN_COMPANY) {
+        Employee empInCompany = find(employee);
+        if (empInCompany == null) {
             return false;
         }
         else {
-            Parttime parttimeEmp = (Parttime)(emplist[indexOfEmp]);
+            Parttime parttimeEmp = (Parttime)(empInCompany);
             Parttime inputEmp = (Parttime)(employee);
+            updateTotals(-1, parttimeEmp);
             parttimeEmp.setHoursWorked(inputEmp.getHoursWorked());
+            updateTotals(1, parttimeEmp);
+            changedEmployees.add(parttimeEmp);
+            if (journal != null) {
+                journal.logSetHours(parttimeEmp.getEmployeeProfile(), inputEmp.getHoursWorked());
+            }
             return true;
         }
     }
@@ -134,129 +441,639 @@ public class Company {
     /**
      * This method processes the payments of all the employee in the company by calling the
      * appropriate calculatePayment methods based on the type of each employee to set their
-     * payment for the payment period.
+     * payment for the payment period, or with the PayrollCents batch kernel if the company is paying in cents. The
+     * payroll totals are then recalculated once from the new payments, rather than updated employee by employee,
+     * so they carry no rounding drift from earlier changes.
      */
     public void processPayments() { //process payments for all employees
+        if (isPayingInCents) {
+            float[] payments = new float[numEmployee];
+            PayrollCents.computePayments(getEmployees(), payments);
+            for (int i = 0; i < numEmployee; i++) {
+                emplist[i].setPayment(payments[i]);
+            }
+        }
+        else {
+            for (int i = 0; i < numEmployee; i++) {
+                emplist[i].calculatePayment();
+            }
+        }
+        changedEmployees.clear();
+        isFullRunNeeded = false;
+        recalculateTotals();
+    }
+
+    /**
+     * This method processes the payments of only the employees that changed since the last payroll run: new
+     * employees and parttime employees whose hours were set. Every other employee keeps the payment from the
+     * last run, which is still correct because nothing it depends on has changed, unless the company started or
+     * stopped paying in cents since then; canProcessChangedPayments() checks for that.
+     * @return the number of employees whose payments were calculated
+     */
+    public int processChangedPayments() {
+        int numProcessed = changedEmployees.size();
+        for (Employee employee : changedEmployees) {
+            calculatePayment(employee);
+        }
+        changedEmployees.clear();
+        return numProcessed;
+    }
+
+    /**
+     * This method checks if processChangedPayments() would bring every payment up to date, and would do it faster
+     * than processPayments(): the way payments are calculated has not changed since the last payroll run, and at
+     * most numEmployee / INCREMENTAL_RUN_FRACTION employees changed. Each changed employee costs more than an
+     * employee of a full run, since its payroll totals are updated one by one, so a run with many changes, such as
+     * the first run after an import, is faster in full.
+     * @return true if processChangedPayments() should be used, false if processPayments() should be used
+     */
+    public boolean canProcessChangedPayments() {
+        return !isFullRunNeeded && changedEmployees.size() <= numEmployee / INCREMENTAL_RUN_FRACTION;
+    }
+
+    /**
+     * This method brings the payments of all the employees up to date, with processChangedPayments() if
+     * canProcessChangedPayments(), and with processPayments() otherwise.
+     * @return the number of employees whose payments were calculated
+     */
+    public int updatePayments() {
+        if (canProcessChangedPayments()) {
+            return processChangedPayments();
+        }
+        processPayments();
+        return numEmployee;
+    }
+
+    /**
+     * This getter method returns the number of employees whose payments changed since the last payroll run.
+     * @return the number of employees that processChangedPayments() would calculate
+     */
+    public int getNumChangedEmployees() {
+        return changedEmployees.size();
+    }
+
+    /**
+     * This method processes the payments of all the employees in the company in parallel on a fork/join pool.
+     * The roster is split into chunks of at most sequentialThreshold employees, and the results are the same
+     * as processPayments(). Small rosters, or a parallelism of 1, are processed sequentially.
+     * @param parallelism the number of worker threads to use
+     * @param sequentialThreshold the largest chunk of employees processed by one task without being split
+     */
+    public void processPayments(int parallelism, int sequentialThreshold) {
+        if (parallelism < 1 || sequentialThreshold < 1) {
+            throw new IllegalArgumentException("Parallelism and sequential threshold must be positive.");
+        }
+        if (parallelism == 1 || numEmployee <= sequentialThreshold) {
+            processPayments();
+            return;
+        }
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new PaymentTask(emplist, 0, numEmployee, sequentialThreshold, isPayingInCents));
+        }
+        finally {
+            pool.shutdown();
+        }
+        changedEmployees.clear();
+        isFullRunNeeded = false;
+        recalculateTotals();
+    }
+
+    /**
+     * This private helper method recalculates every payroll total from the employees in the company.
+     */
+    private void recalculateTotals() {
+        clearTotals();
         for (int i = 0; i < numEmployee; i++) {
-            if (emplist[i] instanceof Management) {
-                Management managementEmp = (Management) emplist[i];
-                managementEmp.calculatePayment();
+            updateTotals(1, emplist[i]);
+        }
+    }
+
+    /**
+     * This method starts a payroll run that computes the payments outside of the company, so that the company
+     * can keep changing while it runs. The run computes the payments of the employees in the returned snapshot
+     * with RosterSnapshot.computePayments(isPayingInCents()), and then calls finishPayrollRun() to set them.
+     * @return a snapshot of the employees to pay
+     */
+    RosterSnapshot startPayrollRun() {
+        changedEmployees.clear();
+        return snapshot();
+    }
+
+    /**
+     * This method finishes a payroll run started with startPayrollRun(): it sets the payments the run computed,
+     * calculates the payments of the employees added or whose hours were set while the run was going on, and
+     * brings the payroll totals up to date. Afterwards every employee is paid as by processPayments(). If the
+     * company started or stopped paying in cents while the run was going on, every payment is calculated again.
+     * @param employees the snapshot returned by startPayrollRun()
+     * @param payments the payments computed for the snapshot
+     * @param isInCents true if the payments were computed in cents
+     */
+    void finishPayrollRun(RosterSnapshot employees, float[] payments, boolean isInCents) {
+        if (isInCents != isPayingInCents) {
+            processPayments();
+            return;
+        }
+        int index = 0;
+        for (Employee employee : employees.getEmployees()) {
+            employee.setPayment(payments[index]);
+            index++;
+        }
+        for (Employee employee : changedEmployees) {
+            payEmployee(employee);
+        }
+        changedEmployees.clear();
+        isFullRunNeeded = false;
+        recalculateTotals();
+    }
+
+    /**
+     * This method takes an immutable snapshot of the roster, which stays the same while employees are added to
+     * and removed from the company afterwards.
+     * add() and remove() only record their change, and the next snapshot applies the changes to the persistent
+     * copy of the roster in O(log n) each, so a snapshot costs O(1) when nothing changed since the last one. The
+     * first snapshot, and a snapshot after more than numEmployee / ROSTER_REBUILD_FRACTION changes such as an
+     * import, builds the copy again in O(n) instead.
+     * @return a snapshot of the roster
+     */
+    public RosterSnapshot snapshot() {
+        if (rosterChanges == null) {
+            roster = buildRoster();
+            rosterChanges = new ArrayList<>();
+            return roster;
+        }
+        for (RosterChange change : rosterChanges) {
+            if (change.isAdded) {
+                roster = roster.add(change.employee, change.key);
             }
-            else if (emplist[i] instanceof Fulltime) {
-                Fulltime fulltimeEmp = (Fulltime) emplist[i];
-                fulltimeEmp.calculatePayment();
+            else {
+                roster = roster.remove(change.employee, change.key);
+            }
+        }
+        rosterChanges.clear();
+        return roster;
+    }
+
+    /**
+     * This method returns the last snapshot of the roster if the roster has not changed since it was taken. It
+     * only reads fields, so a ConcurrentCompany can call it without holding a lock and validate the result after.
+     * @return the last snapshot, or null if snapshot() has changes to apply first
+     */
+    RosterSnapshot getCurrentSnapshot() {
+        ArrayList<RosterChange> changes = rosterChanges;
+        if (changes == null || !changes.isEmpty()) {
+            return null;
+        }
+        return roster;
+    }
+
+    /**
+     * This private helper method records an add or a remove for the next snapshot(). Once there are too many
+     * changes to apply one at a time, they are dropped and the next snapshot() builds the roster again.
+     * @param employee the employee that was added or removed
+     * @param isAdded true if the employee was added, false if it was removed
+     */
+    private void addRosterChange(Employee employee, boolean isAdded) {
+        if (rosterChanges.size() >= numEmployee / ROSTER_REBUILD_FRACTION) {
+            rosterChanges = null;
+        }
+        else {
+            rosterChanges.add(new RosterChange(employee, employee.rosterKey, isAdded));
+        }
+    }
+
+    /**
+     * This private helper method builds the persistent copy of the roster from the employee list and the
+     * indexes, in O(n).
+     * @return a snapshot of the roster
+     */
+    private RosterSnapshot buildRoster() {
+        long[] keys = new long[numEmployee];
+        for (int i = 0; i < numEmployee; i++) {
+            keys[i] = emplist[i].rosterKey;
+        }
+        Employee[] byDate = new Employee[numEmployee];
+        long[] dateKeys = new long[numEmployee];
+        Date[] dates = new Date[numEmployee];
+        int index = 0;
+        for (LinkedHashSet<Employee> employees : dateIndex.values()) {
+            for (Employee employee : employees) {
+                byDate[index] = employee;
+                dateKeys[index] = employee.rosterKey;
+                dates[index] = employee.getEmployeeProfile().getDateHired();
+                index++;
             }
-            else if (emplist[i] instanceof Parttime) {
-                Parttime parttimeEmp = (Parttime) emplist[i];
-                parttimeEmp.calculatePayment();
+        }
+        Employee[] byDepartment = new Employee[numEmployee];
+        long[] departmentKeys = new long[numEmployee];
+        String[] departments = new String[numEmployee];
+        index = 0;
+        for (LinkedHashSet<Employee> employees : departmentIndex.values()) {
+            for (Employee employee : employees) {
+                byDepartment[index] = employee;
+                departmentKeys[index] = employee.rosterKey;
+                departments[index] = employee.getEmployeeProfile().getDepartment();
+                index++;
             }
         }
+        return new RosterSnapshot(RosterTree.build(null, keys, emplist, 0, numEmployee),
+                RosterTree.build(dates, dateKeys, byDate, 0, numEmployee),
+                RosterTree.build(departments, departmentKeys, byDepartment, 0, numEmployee));
     }
 
     /**
-     * This method returns a string with all of the earning statements for all employees.
-     * @return printString a string with all of the earning statements for all employees
+     * This getter method returns the payroll totals for the whole company.
+     * @return a copy of the totals for every employee in the company
      */
-    public String print() { //print earning statements for all employees
-        String printString = "";
+    public PayrollTotals getCompanyTotals() {
+        return new PayrollTotals(companyTotals);
+    }
+
+    /**
+     * This getter method returns the payroll totals for a department.
+     * @param department the department code
+     * @return a copy of the totals for the department, which are empty if it has no employees
+     */
+    public PayrollTotals getDepartmentTotals(String department) {
+        return copyTotals(departmentTotals.get(department));
+    }
+
+    /**
+     * This getter method returns the payroll totals for an employee type.
+     * @param employeeType FULLTIME_TYPE, PARTTIME_TYPE, or MANAGEMENT_TYPE
+     * @return a copy of the totals for the employee type, which are empty if it has no employees
+     */
+    public PayrollTotals getEmployeeTypeTotals(String employeeType) {
+        return copyTotals(employeeTypeTotals.get(employeeType));
+    }
+
+    /**
+     * This getter method returns the payroll totals for the management employees with a management code.
+     * @param managementCode the code that determines which management role an employee holds
+     * @return a copy of the totals for the management code, which are empty if it has no employees
+     */
+    public PayrollTotals getManagementCodeTotals(int managementCode) {
+        return copyTotals(managementCodeTotals.get(managementCode));
+    }
+
+    /**
+     * This private helper method copies a group's totals.
+     * @param totals the totals of a group, or null if the group has no employees
+     * @return a copy of the totals, or empty totals if totals is null
+     */
+    private static PayrollTotals copyTotals(PayrollTotals totals) {
+        if (totals == null) {
+            return new PayrollTotals();
+        }
+        return new PayrollTotals(totals);
+    }
+
+    /**
+     * This method returns a string with the payroll totals for the company, each department, each employee type,
+     * and each management code.
+     * @return a string with the payroll summary
+     */
+    public String printSummary() {
         if (numEmployee == 0) {
-            printString = "Employee database is empty." + "\n";
+            return EMPTY_DATABASE_MESSAGE;
         }
-        else {
-            printString = "--Printing earning statements for all employees--" + "\n";
+        StringBuilder summary = new StringBuilder("--Printing payroll summary--" + "\n");
+        summary.append("Company::").append(companyTotals).append("\n");
+        for (String department : departmentTotals.keySet()) {
+            summary.append(department).append("::").append(departmentTotals.get(department)).append("\n");
+        }
+        for (String employeeType : employeeTypeTotals.keySet()) {
+            summary.append(employeeType).append("::").append(employeeTypeTotals.get(employeeType)).append("\n");
+        }
+        for (Integer managementCode : managementCodeTotals.keySet()) {
+            summary.append("Management Code ").append(managementCode).append("::")
+                   .append(managementCodeTotals.get(managementCode)).append("\n");
+        }
+        return summary.toString();
+    }
+
+    /**
+     * This private helper method writes the earning statements of employees to an Appendable, one per line,
+     * building each statement in the same reusable StringBuilder.
+     * @param out the Appendable to write to
+     * @param employees the employees to write, in the order to write them
+     * @param statement the reusable StringBuilder for one statement
+     * @param listener the listener to report progress to, or null
+     * @param numWritten the number of employees already written by the operation
+     * @param numTotal the number of employees the operation writes in all
+     * @return the number of employees written by the operation, including these employees
+     * @throws IOException if the statements cannot be written
+     * @throws InterruptedIOException if the listener cancels the operation
+     */
+    private static long writeStatements(Appendable out, Iterable<Employee> employees, StringBuilder statement,
+                                        ProgressListener listener, long numWritten, long numTotal)
+            throws IOException {
+        for (Employee employee : employees) {
+            statement.setLength(0);
+            employee.appendStatement(statement);
+            statement.append('\n');
+            out.append(statement);
+            numWritten++;
+            if (listener != null && numWritten % ProgressListener.PROGRESS_INTERVAL == 0) {
+                reportProgress(listener, numWritten, numWritten, numTotal);
+            }
+        }
+        return numWritten;
+    }
+
+    /**
+     * This private helper method reports the progress of an operation to its listener.
+     * @param listener the listener to report progress to
+     * @param numProcessed the number of employees processed so far
+     * @param workDone the amount of work done so far
+     * @param totalWork the total amount of work
+     * @throws InterruptedIOException if the listener cancels the operation
+     */
+    private static void reportProgress(ProgressListener listener, long numProcessed, long workDone,
+                                       long totalWork) throws InterruptedIOException {
+        if (listener.isCancelled()) {
+            throw new InterruptedIOException("Operation cancelled.");
+        }
+        listener.reportProgress(numProcessed, workDone, totalWork);
+    }
+
+    /**
+     * This method looks up an employee by profile.
+     * @param profile the profile of the employee
+     * @return the employee in the company with the profile, or null if there is none
+     */
+    public Employee lookup(Profile profile) {
+        return empIndex.get(profile);
+    }
+
+    /**
+     * This method builds the name search index, if it is not built yet. From then on, add() and remove() keep the
+     * index up to date.
+     */
+    void buildNameIndex() {
+        if (nameIndex == null) {
+            nameIndex = new NameIndex();
             for (int i = 0; i < numEmployee; i++) {
-                printString = printString + emplist[i].toString() + "\n" ;
+                nameIndex.add(emplist[i]);
             }
         }
-        return printString;
     }
 
     /**
-     * This method returns a string with all of the earning statements for all employees by department.
-     * @return printString a string with all of the earning statements for all employees by department
+     * This method checks if the name search index is built, so that a name search will not have to build it first.
+     * @return true if the index is built, false otherwise
      */
-    public String printByDepartment() { //print earning statements by department
-        String printString = "";
+    boolean isNameIndexBuilt() {
+        return nameIndex != null;
+    }
+
+    /**
+     * This method finds the employees whose name starts with a prefix, ignoring case.
+     * The first search builds the name search index in O(n); later searches take O(length of the prefix + limit).
+     * @param prefix the start of the name
+     * @param limit the largest number of employees to return
+     * @return up to limit employees, in the order of their names
+     */
+    public List<Employee> findByNamePrefix(String prefix, int limit) {
+        buildNameIndex();
+        return nameIndex.findByPrefix(prefix, limit);
+    }
+
+    /**
+     * This method finds the employees whose name starts with a prefix within a number of typing mistakes of the
+     * query, ignoring case. The employees found with fewer mistakes come first.
+     * @param query the start of the name, as typed
+     * @param maxEdits the largest number of characters added, left out, or typed in place of another
+     * @param limit the largest number of employees to return
+     * @return up to limit employees, by number of mistakes and then in the order of their names
+     */
+    public List<Employee> findSimilarNames(String query, int maxEdits, int limit) {
+        buildNameIndex();
+        return nameIndex.findSimilar(query, maxEdits, limit);
+    }
+
+    /**
+     * This method returns a page of the employees in the order they were added.
+     * @param offset the number of employees to skip
+     * @param limit the largest number of employees to return
+     * @return a new list with up to limit employees, starting after the first offset employees
+     */
+    public List<Employee> getPage(int offset, int limit) {
+        int start = Math.min(Math.max(offset, 0), numEmployee);
+        int end = (int) Math.min((long) start + Math.max(limit, 0), numEmployee);
+        return new ArrayList<>(getEmployees().subList(start, end));
+    }
+
+    /**
+     * This method returns a page of the employees in the order of printByDate().
+     * @param offset the number of employees to skip
+     * @param limit the largest number of employees to return
+     * @return a new list with up to limit employees, starting after the first offset employees
+     */
+    public List<Employee> getPageByDate(int offset, int limit) {
+        return getPage(dateIndex.values(), offset, limit);
+    }
+
+    /**
+     * This method returns a page of the employees in the order of printByDepartment().
+     * @param offset the number of employees to skip
+     * @param limit the largest number of employees to return
+     * @return a new list with up to limit employees, starting after the first offset employees
+     */
+    public List<Employee> getPageByDepartment(int offset, int limit) {
+        return getPage(departmentIndex.values(), offset, limit);
+    }
+
+    /**
+     * This private helper method returns a page of the employees of an index, skipping whole groups of the index
+     * that come before the page.
+     * @param groups the groups of employees of the index, in order
+     * @param offset the number of employees to skip
+     * @param limit the largest number of employees to return
+     * @return a new list with up to limit employees, starting after the first offset employees
+     */
+    private static List<Employee> getPage(Collection<LinkedHashSet<Employee>> groups, int offset, int limit) {
+        ArrayList<Employee> page = new ArrayList<>(Math.max(Math.min(limit, INITIAL_PAGE_CAPACITY), 0));
+        long toSkip = Math.max(offset, 0);
+        for (LinkedHashSet<Employee> group : groups) {
+            if (page.size() >= limit) {
+                break;
+            }
+            if (toSkip >= group.size()) {
+                toSkip -= group.size();
+                continue;
+            }
+            for (Employee employee : group) {
+                if (toSkip > 0) {
+                    toSkip--;
+                }
+                else if (page.size() < limit) {
+                    page.add(employee);
+                }
+                else {
+                    break;
+                }
+            }
+        }
+        return page;
+    }
+
+    /**
+     * This method returns the employees in the emplist array, in emplist order.
+     * @return a list view of the employees in the company
+     */
+    List<Employee> getEmployees() {
+        return Arrays.asList(emplist).subList(0, numEmployee);
+    }
+
+    /**
+     * This method writes the earning statements for all employees to an Appendable.
+     * @param out the Appendable to write to, such as a Writer or a StringBuilder
+     * @throws IOException if the statements cannot be written
+     */
+    public void print(Appendable out) throws IOException { //print earning statements for all employees
+        print(out, null);
+    }
+
+    /**
+     * This method writes the earning statements for all employees to an Appendable, reporting its progress to
+     * a listener.
+     * @param out the Appendable to write to, such as a Writer or a StringBuilder
+     * @param listener the listener to report progress to, or null
+     * @throws IOException if the statements cannot be written
+     * @throws InterruptedIOException if the listener cancels the print
+     */
+    public void print(Appendable out, ProgressListener listener) throws IOException {
+        printStatements(out, PRINT_HEADER, getEmployees(), numEmployee, listener);
+    }
+
+    /**
+     * This method writes a heading and the earning statements of employees to an Appendable, or the empty
+     * database message if there are no employees.
+     * @param out the Appendable to write to
+     * @param header the heading of the statements
+     * @param employees the employees to write, in the order to write them
+     * @param numEmployee the number of employees
+     * @param listener the listener to report progress to, or null
+     * @throws IOException if the statements cannot be written
+     * @throws InterruptedIOException if the listener cancels the print
+     */
+    static void printStatements(Appendable out, String header, Iterable<Employee> employees, int numEmployee,
+                                ProgressListener listener) throws IOException {
         if (numEmployee == 0) {
-            printString = "Employee database is empty." + "\n";
+            out.append(EMPTY_DATABASE_MESSAGE);
         }
         else {
-            printString = "--Printing earning statements by department--" + "\n";
-            sortByDepartment(emplist);
-            for (int i = 0; i < numEmployee; i++) {
-                printString = printString + emplist[i].toString() + "\n" ;
-            }
+            out.append(header);
+            writeStatements(out, employees, new StringBuilder(), listener, 0, numEmployee);
         }
-        return printString;
     }
 
     /**
-     * This method returns a string with all of the earning statements for all employees by date hired.
-     * @return printString a string with all of the earning statements for all employees by date hired
+     * This method writes the earning statements for all employees by department to an Appendable.
+     * @param out the Appendable to write to, such as a Writer or a StringBuilder
+     * @throws IOException if the statements cannot be written
      */
-    public String printByDate() { //print earning statements by date hired
-        String printString = "";
+    public void printByDepartment(Appendable out) throws IOException { //print earning statements by department
+        printByDepartment(out, null);
+    }
+
+    /**
+     * This method writes the earning statements for all employees by department to an Appendable, reporting its
+     * progress to a listener.
+     * @param out the Appendable to write to, such as a Writer or a StringBuilder
+     * @param listener the listener to report progress to, or null
+     * @throws IOException if the statements cannot be written
+     * @throws InterruptedIOException if the listener cancels the print
+     */
+    public void printByDepartment(Appendable out, ProgressListener listener) throws IOException {
         if (numEmployee == 0) {
-            printString = "Employee database is empty." + "\n";
+            out.append(EMPTY_DATABASE_MESSAGE);
         }
         else {
-            printString = "--Printing earning statements by date hired--" + "\n";
-            sortByDate(emplist);
-            for (int i = 0; i < numEmployee; i++) {
-                printString = printString + emplist[i].toString() + "\n" ;
+            out.append(PRINT_BY_DEPARTMENT_HEADER);
+            StringBuilder statement = new StringBuilder();
+            long numWritten = 0;
+            for (LinkedHashSet<Employee> employees : departmentIndex.values()) {
+                numWritten = writeStatements(out, employees, statement, listener, numWritten, numEmployee);
             }
         }
-        return printString;
     }
 
     /**
-     * This private helper method sorts the list of employee earning statements by date hired (ascending).
-     * @param emplist an array containing all of the employee objects in the company
+     * This method writes the earning statements for all employees by date hired to an Appendable.
+     * @param out the Appendable to write to, such as a Writer or a StringBuilder
+     * @throws IOException if the statements cannot be written
      */
-    private void sortByDate(Employee[] emplist) {
-        for (int i = 0; i < numEmployee; i++) {
-            int min = i; // min is the index of the smallest element with an index greater or equal to i
-            for (int j = i + 1; j < numEmployee; j++) {
-                Date currDateHired = emplist[j].getEmployeeProfile().getDateHired();
-                Date minBookDate = emplist[min].getEmployeeProfile().getDateHired();
-                Calendar currDateHiredCal = Calendar.getInstance();
-                Calendar minDateHiredCal = Calendar.getInstance();
-                currDateHiredCal.set(currDateHired.getYear(), currDateHired.getMonth() - 1,
-                                     currDateHired.getDay(), 0, 0, 0);
-                minDateHiredCal.set(minBookDate.getYear(), minBookDate.getMonth() - 1, minBookDate.getDay(),
-                          0, 0, 0);
-                int compareDates = currDateHiredCal.compareTo(minDateHiredCal);
-                if (compareDates < 0) {
-                    min = j;
-                }
+    public void printByDate(Appendable out) throws IOException { //print earning statements by date hired
+        printByDate(out, null);
+    }
+
+    /**
+     * This method writes the earning statements for all employees by date hired to an Appendable, reporting its
+     * progress to a listener.
+     * @param out the Appendable to write to, such as a Writer or a StringBuilder
+     * @param listener the listener to report progress to, or null
+     * @throws IOException if the statements cannot be written
+     * @throws InterruptedIOException if the listener cancels the print
+     */
+    public void printByDate(Appendable out, ProgressListener listener) throws IOException {
+        if (numEmployee == 0) {
+            out.append(EMPTY_DATABASE_MESSAGE);
+        }
+        else {
+            out.append(PRINT_BY_DATE_HEADER);
+            StringBuilder statement = new StringBuilder();
+            long numWritten = 0;
+            for (LinkedHashSet<Employee> employees : dateIndex.values()) {
+                numWritten = writeStatements(out, employees, statement, listener, numWritten, numEmployee);
             }
-            // Swapping i-th and min-th elements
-            Employee swap = emplist[i];
-            emplist[i] = emplist[min];
-            emplist[min] = swap;
         }
     }
 
     /**
-     * This private helper method sorts the list of employee earning statements by department.
-     * @param emplist an array containing all of the employee objects in the company
+     * This method returns a string with all of the earning statements for all employees.
+     * @return printString a string with all of the earning statements for all employees
      */
-    private void sortByDepartment(Employee[] emplist) {
-        for (int i = 0; i < numEmployee; i++) {
-            int min = i; // min is the index of the smallest element with an index greater or equal to i
-            for (int j = i + 1; j < numEmployee; j++) {
-                String currEmpDepartment = emplist[j].getEmployeeProfile().getDepartment();
-                String minEmpDepartment = emplist[min].getEmployeeProfile().getDepartment();
-                int compareDates = currEmpDepartment.compareTo(minEmpDepartment);
-                if (compareDates < 0) {
-                    min = j;
-                }
-            }
-            // Swapping i-th and min-th elements
-            Employee swap = emplist[i];
-            emplist[i] = emplist[min];
-            emplist[min] = swap;
+    public String print() { //print earning statements for all employees
+        StringBuilder printString = new StringBuilder();
+        try {
+            print(printString);
+        }
+        catch (IOException error) { //a StringBuilder never throws IOException
+            throw new UncheckedIOException(error);
+        }
+        return printString.toString();
+    }
+
+    /**
+     * This method returns a string with all of the earning statements for all employees by department.
+     * @return printString a string with all of the earning statements for all employees by department
+     */
+    public String printByDepartment() { //print earning statements by department
+        StringBuilder printString = new StringBuilder();
+        try {
+            printByDepartment(printString);
+        }
+        catch (IOException error) { //a StringBuilder never throws IOException
+            throw new UncheckedIOException(error);
         }
+        return printString.toString();
+    }
+
+    /**
+     * This method returns a string with all of the earning statements for all employees by date hired.
+     * @return printString a string with all of the earning statements for all employees by date hired
+     */
+    public String printByDate() { //print earning statements by date hired
+        StringBuilder printString = new StringBuilder();
+        try {
+            printByDate(printString);
+        }
+        catch (IOException error) { //a StringBuilder never throws IOException
+            throw new UncheckedIOException(error);
+        }
+        return printString.toString();
     }
 
     /**
@@ -266,43 +1083,79 @@ public class Company {
      * @return true if the file's input is successful, and false otherwise
      */
     public boolean importDatabase(File sourceFile, Company myCompany) {
-        Scanner readInputFile;
-        try {
-            readInputFile = new Scanner(sourceFile);
+        return importDatabase(sourceFile, myCompany, (ProgressListener) null);
+    }
+
+    /**
+     * This method handles input from a file and adds employees from the file to the database, reporting the
+     * bytes of the file read so far to a listener.
+     * An import that is cancelled keeps the employees added before it stopped, like an import that fails.
+     * @param sourceFile the file from which to derive Employee database information
+     * @param myCompany the Company to add Employees in
+     * @param listener the listener to report progress to, or null
+     * @return true if the file's input is successful, and false if it fails or is cancelled
+     */
+    public boolean importDatabase(File sourceFile, Company myCompany, ProgressListener listener) {
+        try (EmployeeFileReader reader = new EmployeeFileReader(sourceFile)) {
+            long numRead = 0;
+            Employee employee = reader.next();
+            while (employee != null) {
+                myCompany.add(employee);
+                numRead++;
+                if (listener != null && numRead % ProgressListener.PROGRESS_INTERVAL == 0) {
+                    reportProgress(listener, numRead, reader.getBytesRead(), reader.getLength());
+                }
+                employee = reader.next();
+            }
         }
-        catch (FileNotFoundException fileNotFound) {
+        catch (IOException | IllegalArgumentException error) {
             return false;
         }
-        String userInput;
-        while (readInputFile.hasNextLine()) {
-            userInput = readInputFile.nextLine();
-            String[] inputParts = userInput.split("[,]");
-            String employeeType = inputParts[0].trim();
-            switch (employeeType) {
-                case "P" :
-                    Date dateHired = new Date(inputParts[3]);
-                    float hourlyPayRate = Float.parseFloat(inputParts[4]);
-                    Parttime parttimeEmployee = new Parttime(inputParts[1], inputParts[2], dateHired, hourlyPayRate);
-                    myCompany.add(parttimeEmployee);
-                    break;
-                case "M" :
-                    dateHired = new Date(inputParts[3]);
-                    float salary = Float.parseFloat(inputParts[4]);
-                    int managementCode = Integer.parseInt(inputParts[5]);
-                    Management managementEmployee = new Management(inputParts[1], inputParts[2], dateHired, salary,
-                            managementCode);
-                    myCompany.add(managementEmployee);
-                    break;
-                case "F" :
-                    dateHired = new Date(inputParts[3]);
-                    salary = Float.parseFloat(inputParts[4]);
-                    Fulltime fulltimeEmployee = new Fulltime(inputParts[1], inputParts[2], dateHired, salary);
-                    myCompany.add(fulltimeEmployee);
-                    break;
-                default :
+        return true;
+    }
+
+    /**
+     * This method handles input from a file in parallel and adds employees from the file to the database.
+     * The file is split at line boundaries into chunks that are parsed on separate worker threads. The chunks
+     * are then added in file order, so the result is the same as importDatabase(sourceFile, myCompany): the
+     * first occurrence of a duplicate employee wins, and an import that fails keeps the employees before the
+     * failing line.
+     * @param sourceFile the file from which to derive Employee database information
+     * @param myCompany the Company to add Employees in
+     * @param parallelism the number of worker threads to use
+     * @return true if the file's input is successful, and false otherwise
+     */
+    public boolean importDatabase(File sourceFile, Company myCompany, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive.");
+        }
+        if (parallelism == 1) {
+            return importDatabase(sourceFile, myCompany);
+        }
+        ExecutorService workers = Executors.newFixedThreadPool(parallelism);
+        try {
+            ArrayList<Future<ImportChunk>> parsedChunks = new ArrayList<>();
+            for (ImportChunk chunk : ImportChunk.splitAtLines(sourceFile, parallelism)) {
+                parsedChunks.add(workers.submit(chunk));
+            }
+            for (Future<ImportChunk> parsedChunk : parsedChunks) {
+                ImportChunk chunk = parsedChunk.get();
+                myCompany.addAll(chunk.getEmployees());
+                if (!chunk.isComplete()) {
                     return false;
+                }
             }
         }
+        catch (IOException | ExecutionException error) {
+            return false;
+        }
+        catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        finally {
+            workers.shutdownNow();
+        }
         return true;
     }
 
@@ -312,16 +1165,103 @@ public class Company {
      * @return true if the file's output is successful, and false otherwise
      */
     public boolean exportDatabase(File targetFile) {
+        return exportDatabase(targetFile, null);
+    }
+
+    /**
+     * This method writes to the target file with all Employee database information, reporting the employees
+     * written so far to a listener.
+     * An export that is cancelled leaves the employees written before it stopped in the file.
+     * @param targetFile the file that will be written to with Employee database information
+     * @param listener the listener to report progress to, or null
+     * @return true if the file's output is successful, and false if it fails or is cancelled
+     */
+    public boolean exportDatabase(File targetFile, ProgressListener listener) {
+        return exportStatements(targetFile, getEmployees(), numEmployee, listener);
+    }
+
+    /**
+     * This method writes employees to the target file, in the format of exportDatabase().
+     * @param targetFile the file that will be written to with Employee database information
+     * @param employees the employees to write, in the order to write them
+     * @param numEmployee the number of employees
+     * @param listener the listener to report progress to, or null
+     * @return true if the file's output is successful, and false if it fails or is cancelled
+     */
+    static boolean exportStatements(File targetFile, Iterable<Employee> employees, int numEmployee,
+                                    ProgressListener listener) {
+        try (BufferedWriter writeToTargetFile = new BufferedWriter(new FileWriter(targetFile))) {
+            writeStatements(writeToTargetFile, employees, new StringBuilder(), listener, 0, numEmployee);
+        }
+        catch (IOException error) {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * This method writes a binary snapshot of the Employee database, including computed payments, to the target
+     * file. Unlike exportDatabase(), the snapshot can be loaded back with loadSnapshot().
+     * @param targetFile the file that will be written to with the snapshot
+     * @return true if the snapshot is written successfully, and false otherwise
+     */
+    public boolean saveSnapshot(File targetFile) {
+        try {
+            CompanySnapshot.save(this, targetFile);
+        }
+        catch (IOException error) {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * This method reads a binary snapshot written by saveSnapshot() and adds its employees to the database.
+     * @param sourceFile the snapshot file to read
+     * @return true if the snapshot is read successfully, and false if it cannot be read or is corrupt
+     */
+    public boolean loadSnapshot(File sourceFile) {
         try {
-            FileWriter writeToTargetFile = new FileWriter(targetFile);
-            String empString = "";
-            empString = print().substring(EXPORT_FILE_START_INDEX);
-            writeToTargetFile.write(empString);
-            writeToTargetFile.close();
+            CompanySnapshot.load(sourceFile, this);
         }
         catch (IOException error) {
             return false;
         }
         return true;
     }
+
+    /**
+     * This method attaches a write-ahead journal that records every later add, remove, and setHours.
+     * @param journal the journal to record changes in, or null to stop recording changes
+     */
+    public void setJournal(CompanyJournal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * This method saves a snapshot of the Employee database and then empties the attached journal, since every
+     * change in it is now part of the snapshot. The snapshot is written to a temporary file first and then moved
+     * over the target file, so a crash never leaves a half-written snapshot.
+     * @param snapshotFile the file that will hold the snapshot
+     * @return true if the checkpoint is successful, and false otherwise
+     */
+    public boolean checkpoint(File snapshotFile) {
+        File tempFile = new File(snapshotFile.getPath() + ".tmp");
+        try {
+            CompanySnapshot.save(this, tempFile);
+            Files.move(tempFile.toPath(), snapshotFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                       StandardCopyOption.ATOMIC_MOVE);
+            if (journal != null) {
+                journal.truncate();
+            }
+        }
+        catch (IOException error) {
+            return false;
+        }
+        catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        return true;
+    }
 }
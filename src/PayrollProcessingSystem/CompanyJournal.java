@@ -0,0 +1,489 @@
+package PayrollProcessingSystem;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.zip.CRC32;
+
+/**
+ * This class is an append-only write-ahead journal of the changes made to a company through add(), remove(), and
+ * setHours().
+ * Each change is stored as one record: its length, an operation code with the employee data, and a CRC32 of the
+ * record. Records are collected in memory and written by a committer thread, which writes and forces to disk every
+ * record collected since its last write in one go (group commit), so many changes share one fsync.
+ * On startup, recover() loads the records written after the last snapshot back into the company. The GUI and the
+ * service keep the snapshot and the journal in the directory returned by getDataDirectory(), which only one program
+ * can use at a time.
+ * @author Kathleen Eife, Isha Vora
+ */
+public class CompanyJournal implements Closeable {
+    private final FileChannel channel;
+    private final Object lock = new Object();
+    private RecordBuffer pending; //records waiting to be written, guarded by lock
+    private RecordBuffer writing; //records being written by the committer thread
+    private final RecordBuffer recordBuffer; //one record being built, guarded by lock
+    private final DataOutputStream recordOut;
+    private final CRC32 recordChecksum;
+    private long appendedCount; //number of records appended, guarded by lock
+    private long durableCount; //number of records forced to disk, guarded by lock
+    private IOException failure; //the error that stopped the committer thread, guarded by lock
+    private boolean isClosed; //guarded by lock
+    private final Thread committer;
+    private FileChannel lockChannel; //the locked LOCK_FILE_NAME file of the data directory, or null
+
+
+    public static final String SNAPSHOT_FILE_NAME = "payroll.snapshot";
+    public static final String JOURNAL_FILE_NAME = "payroll.journal";
+    public static final String LOCK_FILE_NAME = "payroll.lock";
+    public static final String DATA_DIRECTORY_PROPERTY = "payroll.data";
+
+    private static final String DEFAULT_DATA_DIRECTORY = ".payroll";
+    private static final byte ADD = 'A';
+    private static final byte REMOVE = 'R';
+    private static final byte SET_HOURS = 'S';
+    private static final int INITIAL_BUFFER_SIZE = 1 << 16;
+    private static final int MAX_RECORD_LENGTH = 1 << 20;
+    private static final long COMMIT_INTERVAL_MILLIS = 10;
+
+    /**
+     * This class is a ByteArrayOutputStream whose bytes can be read in place, without the copy made by
+     * toByteArray().
+     */
+    private static class RecordBuffer extends ByteArrayOutputStream {
+
+        /**
+         * This constructor creates an empty buffer with the given initial capacity.
+         * @param size the initial capacity in bytes
+         */
+        RecordBuffer(int size) {
+            super(size);
+        }
+
+        /**
+         * This method returns the buffer's array; only the first size() bytes are valid.
+         * @return the array holding the bytes of the buffer
+         */
+        byte[] getBytes() {
+            return buf;
+        }
+    }
+
+    /**
+     * This constructor opens a journal file for appending, creating it if it does not exist, and starts the
+     * committer thread.
+     * @param journalFile the journal file
+     * @throws IOException if the file cannot be opened
+     */
+    public CompanyJournal(File journalFile) throws IOException {
+        channel = FileChannel.open(journalFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        channel.position(channel.size());
+        pending = new RecordBuffer(INITIAL_BUFFER_SIZE);
+        writing = new RecordBuffer(INITIAL_BUFFER_SIZE);
+        recordBuffer = new RecordBuffer(INITIAL_BUFFER_SIZE);
+        recordOut = new DataOutputStream(recordBuffer);
+        recordChecksum = new CRC32();
+        committer = new Thread(this::commitRecords, "CompanyJournal committer");
+        committer.setDaemon(true);
+        committer.start();
+    }
+
+    /**
+     * This method records that an employee was added to the company.
+     * @param employee the employee that was added
+     */
+    public void logAdd(Employee employee) {
+        synchronized (lock) {
+            startRecord(ADD);
+            try {
+                CompanySnapshot.writeEmployee(recordOut, employee);
+            }
+            catch (IOException error) { //a ByteArrayOutputStream never throws IOException
+                throw new UncheckedIOException(error);
+            }
+            endRecord();
+        }
+    }
+
+    /**
+     * This method records that an employee was removed from the company.
+     * @param empProfile the profile of the employee that was removed
+     */
+    public void logRemove(Profile empProfile) {
+        synchronized (lock) {
+            startRecord(REMOVE);
+            writeProfile(empProfile);
+            endRecord();
+        }
+    }
+
+    /**
+     * This method records that the working hours of a parttime employee were set.
+     * @param empProfile the profile of the employee
+     * @param hoursWorked the hours the employee worked in the pay period
+     */
+    public void logSetHours(Profile empProfile, int hoursWorked) {
+        synchronized (lock) {
+            startRecord(SET_HOURS);
+            writeProfile(empProfile);
+            try {
+                recordOut.writeInt(hoursWorked);
+            }
+            catch (IOException error) { //a ByteArrayOutputStream never throws IOException
+                throw new UncheckedIOException(error);
+            }
+            endRecord();
+        }
+    }
+
+    /**
+     * This private helper method starts building a record. The caller must hold the lock.
+     * @param operation the operation code of the record
+     * @throws UncheckedIOException if the journal can no longer write records
+     */
+    private void startRecord(byte operation) {
+        if (failure != null) {
+            throw new UncheckedIOException("Journal write failed.", failure);
+        }
+        if (isClosed) {
+            throw new IllegalStateException("Journal is closed.");
+        }
+        recordBuffer.reset();
+        recordBuffer.write(operation);
+    }
+
+    /**
+     * This private helper method writes a profile into the record being built. The caller must hold the lock.
+     * @param empProfile the profile to write
+     */
+    private void writeProfile(Profile empProfile) {
+        try {
+            recordOut.writeUTF(empProfile.getName());
+            recordOut.writeUTF(empProfile.getDepartment());
+            recordOut.writeInt(empProfile.getDateHired().getPackedDate());
+        }
+        catch (IOException error) { //a ByteArrayOutputStream never throws IOException
+            throw new UncheckedIOException(error);
+        }
+    }
+
+    /**
+     * This private helper method adds the record being built to the pending records and wakes the committer
+     * thread. The caller must hold the lock.
+     */
+    private void endRecord() {
+        boolean wasEmpty = (pending.size() == 0);
+        recordChecksum.reset();
+        recordChecksum.update(recordBuffer.getBytes(), 0, recordBuffer.size());
+        writeInt(pending, recordBuffer.size());
+        pending.write(recordBuffer.getBytes(), 0, recordBuffer.size());
+        writeInt(pending, (int) recordChecksum.getValue());
+        appendedCount++;
+        if (wasEmpty) { //the committer thread only waits while there are no pending records
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * This private helper method writes an int to a stream in big-endian order.
+     * @param out the stream to write to
+     * @param value the int to write
+     */
+    private static void writeInt(ByteArrayOutputStream out, int value) {
+        out.write(value >>> 24);
+        out.write(value >>> 16);
+        out.write(value >>> 8);
+        out.write(value);
+    }
+
+    /**
+     * This method runs on the committer thread. It waits for records, then writes every pending record and
+     * forces them to disk with a single fsync, until the journal is closed.
+     */
+    private void commitRecords() {
+        while (true) {
+            long batchCount;
+            synchronized (lock) {
+                while (pending.size() == 0 && !isClosed) {
+                    try {
+                        lock.wait(COMMIT_INTERVAL_MILLIS);
+                    }
+                    catch (InterruptedException interrupted) {
+                        return;
+                    }
+                }
+                if (pending.size() == 0) {
+                    return;
+                }
+                RecordBuffer swap = writing;
+                writing = pending;
+                pending = swap;
+                batchCount = appendedCount;
+            }
+            try {
+                ByteBuffer batch = ByteBuffer.wrap(writing.getBytes(), 0, writing.size());
+                while (batch.hasRemaining()) {
+                    channel.write(batch);
+                }
+                channel.force(false);
+                writing.reset();
+                synchronized (lock) {
+                    durableCount = batchCount;
+                    lock.notifyAll();
+                }
+            }
+            catch (IOException error) {
+                synchronized (lock) {
+                    failure = error;
+                    lock.notifyAll();
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * This method waits until every record appended so far has been forced to disk.
+     * @throws IOException if the journal could not write the records
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public void sync() throws IOException, InterruptedException {
+        synchronized (lock) {
+            long target = appendedCount;
+            while (durableCount < target && failure == null) {
+                lock.wait();
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+
+    /**
+     * This method empties the journal, after the company has been saved to a snapshot that includes every record.
+     * @throws IOException if the journal cannot be emptied
+     * @throws InterruptedException if the thread is interrupted while waiting for pending records
+     */
+    public void truncate() throws IOException, InterruptedException {
+        synchronized (lock) {
+            sync();
+            channel.truncate(0);
+            channel.position(0);
+            channel.force(true);
+        }
+    }
+
+    /**
+     * This method writes any pending records, stops the committer thread, and closes the journal file. If the
+     * journal was opened by recover() on a data directory, the directory is unlocked for other programs.
+     * @throws IOException if the pending records cannot be written or the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (lock) {
+            isClosed = true;
+            lock.notifyAll();
+        }
+        try {
+            committer.join();
+        }
+        catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            channel.close();
+        }
+        finally {
+            if (lockChannel != null) { //closing the channel releases the lock
+                lockChannel.close();
+            }
+        }
+        synchronized (lock) {
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+
+    /**
+     * This method loads the records of a journal file into a company, in the order they were written.
+     * Reading stops at the first record that is incomplete or fails its checksum, which is where a crash
+     * interrupted the last write; the file is then truncated to the last good record.
+     * @param journalFile the journal file, which does not have to exist
+     * @param company the company to apply the records to, which must not have a journal attached
+     * @return the number of records applied
+     * @throws IOException if the file cannot be read
+     */
+    public static int replay(File journalFile, Company company) throws IOException {
+        if (!journalFile.exists()) {
+            return 0;
+        }
+        int numRecords = 0;
+        long validLength = 0;
+        HashMap<String, String> departments = new HashMap<>();
+        CRC32 checksum = new CRC32();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(journalFile),
+                INITIAL_BUFFER_SIZE))) {
+            while (true) {
+                byte[] record;
+                try {
+                    int length = in.readInt();
+                    if (length <= 0 || length > MAX_RECORD_LENGTH) {
+                        break;
+                    }
+                    record = new byte[length];
+                    in.readFully(record);
+                    checksum.reset();
+                    checksum.update(record, 0, length);
+                    if (in.readInt() != (int) checksum.getValue()) {
+                        break;
+                    }
+                }
+                catch (EOFException tornRecord) {
+                    break;
+                }
+                applyRecord(record, company, departments);
+                numRecords++;
+                validLength += Integer.BYTES + record.length + Integer.BYTES;
+            }
+        }
+        if (validLength < journalFile.length()) {
+            try (FileChannel journal = FileChannel.open(journalFile.toPath(), StandardOpenOption.WRITE)) {
+                journal.truncate(validLength);
+            }
+        }
+        return numRecords;
+    }
+
+    /**
+     * This private helper method applies one journal record to a company.
+     * @param record the operation code and data of the record
+     * @param company the company to apply the record to
+     * @param departments the departments read so far
+     * @throws IOException if the record has an unknown operation code
+     */
+    private static void applyRecord(byte[] record, Company company, HashMap<String, String> departments)
+            throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(record));
+        byte operation = in.readByte();
+        if (operation == ADD) {
+            company.add(CompanySnapshot.readEmployee(in, departments));
+            return;
+        }
+        String name = in.readUTF();
+        String department = in.readUTF();
+        Date dateHired = new Date(in.readInt());
+        if (operation == REMOVE) {
+            company.remove(new Employee(name, department, dateHired));
+        }
+        else if (operation == SET_HOURS) {
+            company.setHours(new Parttime(name, department, dateHired, in.readInt()));
+        }
+        else {
+            throw new IOException("Corrupt journal record.");
+        }
+    }
+
+    /**
+     * This method returns the directory that holds the snapshot and journal files: the directory named by the
+     * payroll.data system property, or .payroll in the user's home directory.
+     * @return the data directory
+     */
+    public static File getDataDirectory() {
+        String path = System.getProperty(DATA_DIRECTORY_PROPERTY);
+        if (path != null) {
+            return new File(path);
+        }
+        return new File(System.getProperty("user.home"), DEFAULT_DATA_DIRECTORY);
+    }
+
+    /**
+     * This method restores a company after a restart from the snapshot and journal files in a data directory, and
+     * then attaches the journal to the company for new changes. The directory is created if it does not exist.
+     * The directory is locked until the journal is closed, so that another program cannot overwrite the snapshot
+     * or empty the journal while this one is using them.
+     * @param dataDirectory the directory that holds the SNAPSHOT_FILE_NAME and JOURNAL_FILE_NAME files
+     * @param company an empty company to restore into
+     * @return the journal, now attached to the company
+     * @throws IOException if the directory cannot be created or is in use by another program, or the snapshot or
+     *                     journal cannot be read
+     */
+    public static CompanyJournal recover(File dataDirectory, Company company) throws IOException {
+        Files.createDirectories(dataDirectory.toPath());
+        FileChannel lockChannel = lockDataDirectory(dataDirectory);
+        CompanyJournal journal;
+        try {
+            journal = recover(new File(dataDirectory, SNAPSHOT_FILE_NAME), new File(dataDirectory, JOURNAL_FILE_NAME),
+                              company);
+        }
+        catch (IOException | RuntimeException error) {
+            lockChannel.close();
+            throw error;
+        }
+        journal.lockChannel = lockChannel;
+        return journal;
+    }
+
+    /**
+     * This private helper method takes an exclusive lock on the LOCK_FILE_NAME file of a data directory, creating
+     * the file if it does not exist. The lock is held until the returned channel is closed, and is released by the
+     * operating system if the program stops unexpectedly.
+     * @param dataDirectory the data directory to lock
+     * @return the channel holding the lock
+     * @throws IOException if the lock file cannot be opened, or another program holds the lock
+     */
+    private static FileChannel lockDataDirectory(File dataDirectory) throws IOException {
+        File lockFile = new File(dataDirectory, LOCK_FILE_NAME);
+        FileChannel lockChannel = FileChannel.open(lockFile.toPath(), StandardOpenOption.CREATE,
+                                                   StandardOpenOption.WRITE);
+        FileLock directoryLock;
+        try {
+            directoryLock = lockChannel.tryLock();
+        }
+        catch (OverlappingFileLockException lockedByThisProgram) {
+            directoryLock = null;
+        }
+        catch (IOException error) {
+            lockChannel.close();
+            throw error;
+        }
+        if (directoryLock == null) {
+            lockChannel.close();
+            throw new IOException("Employee data in " + dataDirectory + " is in use by another program.");
+        }
+        return lockChannel;
+    }
+
+    /**
+     * This method restores a company after a restart: it loads the snapshot file if there is one, applies the
+     * journal records written after it, and then attaches the journal to the company for new changes.
+     * @param snapshotFile the snapshot file written by the last checkpoint, which does not have to exist
+     * @param journalFile the journal file, which does not have to exist
+     * @param company an empty company to restore into
+     * @return the journal, now attached to the company
+     * @throws IOException if the snapshot or journal cannot be read
+     */
+    public static CompanyJournal recover(File snapshotFile, File journalFile, Company company) throws IOException {
+        if (snapshotFile.exists()) {
+            CompanySnapshot.load(snapshotFile, company);
+        }
+        replay(journalFile, company);
+        CompanyJournal journal = new CompanyJournal(journalFile);
+        company.setJournal(journal);
+        return journal;
+    }
+}
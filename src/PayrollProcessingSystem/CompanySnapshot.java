@@ -0,0 +1,178 @@
+package PayrollProcessingSystem;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * This class saves and loads the whole employee database of a company as a binary snapshot file.
+ * The file starts with a magic number and a format version, followed by the number of employees and one record
+ * per employee in emplist order, and ends with a CRC32 checksum of everything before it. Each record holds the
+ * profile, the type-specific fields, and the last computed payment.
+ * @author Kathleen Eife, Isha Vora
+ */
+public class CompanySnapshot {
+
+    public static final int MAGIC_NUMBER = 0x50415952; //"PAYR"
+    public static final short FORMAT_VERSION = 1;
+
+    static final byte PARTTIME = 'P';
+    static final byte FULLTIME = 'F';
+    static final byte MANAGEMENT = 'M';
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int HEADER_SIZE = Integer.BYTES + Short.BYTES + Integer.BYTES;
+    private static final int CHECKSUM_SIZE = Long.BYTES;
+    private static final int MIN_RECORD_SIZE = 17; //a Fulltime employee with an empty name and department
+
+    /**
+     * This constructor is private because the class only has static methods.
+     */
+    private CompanySnapshot() {
+    }
+
+    /**
+     * This method writes all of the employees of a company to a snapshot file.
+     * @param company the company to save
+     * @param targetFile the file to write the snapshot to
+     * @throws IOException if the file cannot be written
+     */
+    public static void save(Company company, File targetFile) throws IOException {
+        CRC32 checksum = new CRC32();
+        try (FileOutputStream fileOut = new FileOutputStream(targetFile)) {
+            BufferedOutputStream bufferedOut = new BufferedOutputStream(fileOut, BUFFER_SIZE);
+            DataOutputStream out = new DataOutputStream(new CheckedOutputStream(bufferedOut, checksum));
+            out.writeInt(MAGIC_NUMBER);
+            out.writeShort(FORMAT_VERSION);
+            out.writeInt(company.getNumEmployee());
+            for (Employee employee : company.getEmployees()) {
+                writeEmployee(out, employee);
+            }
+            out.flush();
+            new DataOutputStream(bufferedOut).writeLong(checksum.getValue());
+            bufferedOut.flush();
+        }
+    }
+
+    /**
+     * This helper method writes the record of one employee.
+     * @param out the stream to write to
+     * @param employee a Parttime, Fulltime, or Management employee
+     * @throws IOException if the record cannot be written
+     */
+    static void writeEmployee(DataOutputStream out, Employee employee) throws IOException {
+        Profile empProfile = employee.getEmployeeProfile();
+        if (employee instanceof Management) {
+            out.writeByte(MANAGEMENT);
+        }
+        else if (employee instanceof Fulltime) {
+            out.writeByte(FULLTIME);
+        }
+        else {
+            out.writeByte(PARTTIME);
+        }
+        out.writeUTF(empProfile.getName());
+        out.writeUTF(empProfile.getDepartment());
+        out.writeInt(empProfile.getDateHired().getPackedDate());
+        out.writeFloat(employee.getPayment());
+        if (employee instanceof Management) {
+            out.writeFloat(((Management) employee).getSalary());
+            out.writeInt(((Management) employee).getManagementCode());
+        }
+        else if (employee instanceof Fulltime) {
+            out.writeFloat(((Fulltime) employee).getSalary());
+        }
+        else {
+            out.writeFloat(((Parttime) employee).getHourlyPayRate());
+            out.writeInt(((Parttime) employee).getHoursWorked());
+        }
+    }
+
+    /**
+     * This method reads the employees of a snapshot file and adds them to a company.
+     * The whole file is read and its checksum verified before any employee is added. The number of employees in
+     * the header is checked against the length of the file before anything is allocated for them, so a corrupt
+     * header cannot make the load run out of memory.
+     * @param sourceFile the snapshot file to read
+     * @param company the company to add the employees to
+     * @return the outcome of adding each employee in the snapshot
+     * @throws IOException if the file cannot be read, is not a snapshot of a supported version, or is corrupt
+     */
+    public static AddAllResult load(File sourceFile, Company company) throws IOException {
+        CRC32 checksum = new CRC32();
+        ArrayList<Employee> employees;
+        try (FileInputStream fileIn = new FileInputStream(sourceFile)) {
+            BufferedInputStream bufferedIn = new BufferedInputStream(fileIn, BUFFER_SIZE);
+            DataInputStream in = new DataInputStream(new CheckedInputStream(bufferedIn, checksum));
+            if (in.readInt() != MAGIC_NUMBER) {
+                throw new IOException("Not a company snapshot file.");
+            }
+            short version = in.readShort();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported snapshot version " + version + ".");
+            }
+            int numEmployee = in.readInt();
+            long maxEmployees = (fileIn.getChannel().size() - HEADER_SIZE - CHECKSUM_SIZE) / MIN_RECORD_SIZE;
+            if (numEmployee < 0 || numEmployee > maxEmployees) {
+                throw new IOException("Corrupt snapshot file.");
+            }
+            employees = new ArrayList<>(numEmployee);
+            HashMap<String, String> departments = new HashMap<>(); //shares one String per department
+            for (int i = 0; i < numEmployee; i++) {
+                employees.add(readEmployee(in, departments));
+            }
+            long expectedChecksum = checksum.getValue();
+            if (new DataInputStream(bufferedIn).readLong() != expectedChecksum) {
+                throw new IOException("Snapshot checksum does not match.");
+            }
+        }
+        return company.addAll(employees);
+    }
+
+    /**
+     * This helper method reads the record of one employee.
+     * @param in the stream to read from
+     * @param departments the departments read so far
+     * @return a Parttime, Fulltime, or Management employee
+     * @throws IOException if the record cannot be read or has an unknown employee type
+     */
+    static Employee readEmployee(DataInputStream in, HashMap<String, String> departments)
+            throws IOException {
+        byte employeeType = in.readByte();
+        String name = in.readUTF();
+        String department = in.readUTF();
+        String sharedDepartment = departments.putIfAbsent(department, department);
+        if (sharedDepartment != null) {
+            department = sharedDepartment;
+        }
+        Date dateHired = new Date(in.readInt());
+        float payment = in.readFloat();
+        Employee employee;
+        if (employeeType == MANAGEMENT) {
+            float salary = in.readFloat();
+            employee = new Management(name, department, dateHired, salary, in.readInt());
+        }
+        else if (employeeType == FULLTIME) {
+            employee = new Fulltime(name, department, dateHired, in.readFloat());
+        }
+        else if (employeeType == PARTTIME) {
+            Parttime parttimeEmp = new Parttime(name, department, dateHired, in.readFloat());
+            parttimeEmp.setHoursWorked(in.readInt());
+            employee = parttimeEmp;
+        }
+        else {
+            throw new IOException("Corrupt snapshot file.");
+        }
+        employee.setPayment(payment);
+        return employee;
+    }
+}
@@ -0,0 +1,466 @@
+package PayrollProcessingSystem;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Function;
+
+/**
+ * This class is a thread-safe company, for use by several threads at once, such as the handlers of a service or
+ * background tasks.
+ * It wraps a Company and guards it with a StampedLock. Changes such as add(), remove(), setHours(), the payroll
+ * runs, and imports take the write lock, so they are serialized. Reads such as lookup(), the pages, and the
+ * summary take the read lock, so any number of them run at the same time. The counts and the company
+ * totals, which are only a few fields, are read optimistically without taking any lock, and are read again under
+ * the read lock only if a change happened in between.
+ * Prints, exports, and payroll runs hold a lock only long enough to take a RosterSnapshot of the company, and then
+ * work against the snapshot, so they never hold up changes to the company however long they take. A payroll run
+ * computes the payments without setting them, and sets them all at once under the write lock at the end, so a read
+ * never sees a run half done.
+ * The lock is not reentrant, so the functions passed to read() and write() must not call this company.
+ * @author Kathleen Eife, Isha Vora
+ */
+public class ConcurrentCompany {
+    private final Company company;
+    private final StampedLock lock = new StampedLock();
+    private volatile boolean isNameIndexBuilt;
+
+    /**
+     * This default constructor creates an empty company.
+     */
+    public ConcurrentCompany() {
+        this(new Company());
+    }
+
+    /**
+     * This constructor wraps a company. The company must not be used directly once it is wrapped.
+     * @param company the company to wrap
+     */
+    public ConcurrentCompany(Company company) {
+        this.company = company;
+    }
+
+    /**
+     * This method runs a function that reads the company under the read lock, so that it sees the company
+     * between two changes. The function can run at the same time as other reads, so it must not change the company.
+     * @param reader the function that reads the company
+     * @param <T> the type of the result of the function
+     * @return the result of the function
+     */
+    public <T> T read(Function<Company, T> reader) {
+        long stamp = lock.readLock();
+        try {
+            return reader.apply(company);
+        }
+        finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * This method runs a function that changes the company under the write lock, so that no other read or change
+     * runs at the same time. It is used for changes made of several steps that must not be interleaved.
+     * @param writer the function that changes the company
+     * @param <T> the type of the result of the function
+     * @return the result of the function
+     */
+    public <T> T write(Function<Company, T> writer) {
+        long stamp = lock.writeLock();
+        try {
+            return writer.apply(company);
+        }
+        finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * This getter method returns the number of employees in the company, read optimistically.
+     * @return the number of employees in the company
+     */
+    public int getNumEmployee() {
+        long stamp = lock.tryOptimisticRead();
+        int numEmployee = company.getNumEmployee();
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                numEmployee = company.getNumEmployee();
+            }
+            finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return numEmployee;
+    }
+
+    /**
+     * This method checks if the company has no employees.
+     * @return true if the company has no employees, false otherwise
+     */
+    public boolean isEmplistEmpty() {
+        return getNumEmployee() == 0;
+    }
+
+    /**
+     * This getter method returns the number of employees whose payments changed since the last payroll run, read
+     * optimistically.
+     * @return the number of employees that processChangedPayments() would calculate
+     */
+    public int getNumChangedEmployees() {
+        long stamp = lock.tryOptimisticRead();
+        int numChanged = company.getNumChangedEmployees();
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                numChanged = company.getNumChangedEmployees();
+            }
+            finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return numChanged;
+    }
+
+    /**
+     * This getter method returns the payroll totals for the whole company, read optimistically.
+     * @return a copy of the totals for every employee in the company
+     */
+    public PayrollTotals getCompanyTotals() {
+        long stamp = lock.tryOptimisticRead();
+        PayrollTotals totals = company.getCompanyTotals();
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                totals = company.getCompanyTotals();
+            }
+            finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * This getter method returns the payroll totals for a department.
+     * @param department the department code
+     * @return a copy of the totals for the department, which are empty if it has no employees
+     */
+    public PayrollTotals getDepartmentTotals(String department) {
+        return read(readCompany -> readCompany.getDepartmentTotals(department));
+    }
+
+    /**
+     * This getter method returns the payroll totals for an employee type.
+     * @param employeeType Company.FULLTIME_TYPE, Company.PARTTIME_TYPE, or Company.MANAGEMENT_TYPE
+     * @return a copy of the totals for the employee type, which are empty if it has no employees
+     */
+    public PayrollTotals getEmployeeTypeTotals(String employeeType) {
+        return read(readCompany -> readCompany.getEmployeeTypeTotals(employeeType));
+    }
+
+    /**
+     * This getter method returns the payroll totals for the management employees with a management code.
+     * @param managementCode the code that determines which management role an employee holds
+     * @return a copy of the totals for the management code, which are empty if it has no employees
+     */
+    public PayrollTotals getManagementCodeTotals(int managementCode) {
+        return read(readCompany -> readCompany.getManagementCodeTotals(managementCode));
+    }
+
+    /**
+     * This method returns a string with the payroll totals for the company, each department, each employee type,
+     * and each management code.
+     * @return a string with the payroll summary
+     */
+    public String printSummary() {
+        return read(Company::printSummary);
+    }
+
+    /**
+     * This method looks up an employee by profile. The employee can be changed by setHours() or a payroll run
+     * after it is returned; use read() to read its fields between two changes.
+     * @param profile the profile of the employee
+     * @return the employee in the company with the profile, or null if there is none
+     */
+    public Employee lookup(Profile profile) {
+        return read(readCompany -> readCompany.lookup(profile));
+    }
+
+    /**
+     * This method finds the employees whose name starts with a prefix, ignoring case, under the read lock.
+     * @param prefix the start of the name
+     * @param limit the largest number of employees to return
+     * @return up to limit employees, in the order of their names
+     */
+    public List<Employee> findByNamePrefix(String prefix, int limit) {
+        buildNameIndex();
+        return read(readCompany -> readCompany.findByNamePrefix(prefix, limit));
+    }
+
+    /**
+     * This method finds the employees whose name starts with a prefix within a number of typing mistakes of the
+     * query, ignoring case, under the read lock.
+     * @param query the start of the name, as typed
+     * @param maxEdits the largest number of characters added, left out, or typed in place of another
+     * @param limit the largest number of employees to return
+     * @return up to limit employees, by number of mistakes and then in the order of their names
+     */
+    public List<Employee> findSimilarNames(String query, int maxEdits, int limit) {
+        buildNameIndex();
+        return read(readCompany -> readCompany.findSimilarNames(query, maxEdits, limit));
+    }
+
+    /**
+     * This private helper method builds the name search index of the company under the write lock the first time
+     * it is needed, so that the searches only read the company.
+     */
+    private void buildNameIndex() {
+        if (!isNameIndexBuilt) {
+            write(writeCompany -> {
+                writeCompany.buildNameIndex();
+                return null;
+            });
+            isNameIndexBuilt = true;
+        }
+    }
+
+    /**
+     * This method returns a page of the employees in the order they were added.
+     * @param offset the number of employees to skip
+     * @param limit the largest number of employees to return
+     * @return a new list with up to limit employees, starting after the first offset employees
+     */
+    public List<Employee> getPage(int offset, int limit) {
+        return read(readCompany -> readCompany.getPage(offset, limit));
+    }
+
+    /**
+     * This method returns a page of the employees in the order of printByDate().
+     * @param offset the number of employees to skip
+     * @param limit the largest number of employees to return
+     * @return a new list with up to limit employees, starting after the first offset employees
+     */
+    public List<Employee> getPageByDate(int offset, int limit) {
+        return read(readCompany -> readCompany.getPageByDate(offset, limit));
+    }
+
+    /**
+     * This method returns a page of the employees in the order of printByDepartment().
+     * @param offset the number of employees to skip
+     * @param limit the largest number of employees to return
+     * @return a new list with up to limit employees, starting after the first offset employees
+     */
+    public List<Employee> getPageByDepartment(int offset, int limit) {
+        return read(readCompany -> readCompany.getPageByDepartment(offset, limit));
+    }
+
+    /**
+     * This method adds an employee to the company.
+     * @param employee an employee object
+     * @return true if the employee is successfully added to the company, false otherwise
+     */
+    public boolean add(Employee employee) {
+        return write(writeCompany -> writeCompany.add(employee));
+    }
+
+    /**
+     * This method removes an employee from the company.
+     * @param employee an employee object
+     * @return true if the employee is successfully removed, false otherwise
+     */
+    public boolean remove(Employee employee) {
+        return write(writeCompany -> writeCompany.remove(employee));
+    }
+
+    /**
+     * This method sets the working hours of a parttime employee in the company.
+     * @param employee an employee object
+     * @return true if the hours are successfully set, false otherwise
+     */
+    public boolean setHours(Employee employee) {
+        return write(writeCompany -> writeCompany.setHours(employee));
+    }
+
+    /**
+     * This method takes an immutable snapshot of the roster of the company. If the roster has not changed since
+     * the last snapshot, that snapshot is read optimistically and returned without taking any lock; otherwise the
+     * write lock is taken to bring the persistent copy of the roster up to date.
+     * @return a snapshot of the roster
+     */
+    public RosterSnapshot snapshot() {
+        long stamp = lock.tryOptimisticRead();
+        RosterSnapshot roster = company.getCurrentSnapshot();
+        if (roster != null && lock.validate(stamp)) {
+            return roster;
+        }
+        return write(Company::snapshot);
+    }
+
+    /**
+     * This method processes the payments of all the employees in the company. The payments are computed into an
+     * array from a snapshot without holding the lock, so the company can change while they are computed, and are
+     * then set, with the payroll totals, under the write lock. The employees whose hours were set during the run
+     * are calculated again at that point, so the result is the same as Company.processPayments().
+     */
+    public void processPayments() {
+        RosterSnapshot employees = write(Company::startPayrollRun);
+        boolean isInCents = company.isPayingInCents();
+        float[] payments = employees.computePayments(isInCents); //reads hours racily; changed employees are redone
+        write(writeCompany -> {
+            writeCompany.finishPayrollRun(employees, payments, isInCents);
+            return null;
+        });
+    }
+
+    /**
+     * This method chooses how every later payroll run calculates the payments.
+     * @param isPayingInCents true to calculate the payments exactly in cents, false to calculate them in float
+     * dollars
+     */
+    public void setPayingInCents(boolean isPayingInCents) {
+        write(writeCompany -> {
+            writeCompany.setPayingInCents(isPayingInCents);
+            return null;
+        });
+    }
+
+    /**
+     * This method processes the payments of all the employees in the company in parallel on a fork/join pool.
+     * @param parallelism the number of worker threads to use
+     * @param sequentialThreshold the largest chunk of employees processed by one task without being split
+     */
+    public void processPayments(int parallelism, int sequentialThreshold) {
+        write(writeCompany -> {
+            writeCompany.processPayments(parallelism, sequentialThreshold);
+            return null;
+        });
+    }
+
+    /**
+     * This method brings the payments of all the employees up to date: under the write lock with
+     * processChangedPayments() if Company.canProcessChangedPayments(), and with processPayments() otherwise.
+     * @return the number of employees whose payments were calculated
+     */
+    public int updatePayments() {
+        int numProcessed = write(writeCompany -> writeCompany.canProcessChangedPayments()
+                ? writeCompany.processChangedPayments() : -1);
+        if (numProcessed >= 0) {
+            return numProcessed;
+        }
+        processPayments();
+        return getNumEmployee();
+    }
+
+    /**
+     * This method processes the payments of only the employees that changed since the last payroll run.
+     * @return the number of employees whose payments were calculated
+     */
+    public int processChangedPayments() {
+        return write(Company::processChangedPayments);
+    }
+
+    /**
+     * This method writes the earning statements for all employees to an Appendable, from a snapshot of the
+     * company taken when it starts.
+     * @param out the Appendable to write to, such as a Writer or a StringBuilder
+     * @param listener the listener to report progress to, or null
+     * @throws IOException if the statements cannot be written
+     */
+    public void print(Appendable out, ProgressListener listener) throws IOException {
+        snapshot().print(out, listener);
+    }
+
+    /**
+     * This method writes the earning statements for all employees by department to an Appendable, from a snapshot
+     * of the company taken when it starts.
+     * @param out the Appendable to write to, such as a Writer or a StringBuilder
+     * @param listener the listener to report progress to, or null
+     * @throws IOException if the statements cannot be written
+     */
+    public void printByDepartment(Appendable out, ProgressListener listener) throws IOException {
+        snapshot().printByDepartment(out, listener);
+    }
+
+    /**
+     * This method writes the earning statements for all employees by date hired to an Appendable, from a snapshot
+     * of the company taken when it starts.
+     * @param out the Appendable to write to, such as a Writer or a StringBuilder
+     * @param listener the listener to report progress to, or null
+     * @throws IOException if the statements cannot be written
+     */
+    public void printByDate(Appendable out, ProgressListener listener) throws IOException {
+        snapshot().printByDate(out, listener);
+    }
+
+    /**
+     * This method adds the employees of a database file to the company.
+     * @param sourceFile the file from which to derive Employee database information
+     * @param listener the listener to report progress to, or null
+     * @return true if the file's input is successful, and false if it fails or is cancelled
+     */
+    public boolean importDatabase(File sourceFile, ProgressListener listener) {
+        return write(writeCompany -> writeCompany.importDatabase(sourceFile, writeCompany, listener));
+    }
+
+    /**
+     * This method adds the employees of a database file to the company, parsing the file in parallel.
+     * @param sourceFile the file from which to derive Employee database information
+     * @param parallelism the number of worker threads to use
+     * @return true if the file's input is successful, and false otherwise
+     */
+    public boolean importDatabase(File sourceFile, int parallelism) {
+        return write(writeCompany -> writeCompany.importDatabase(sourceFile, writeCompany, parallelism));
+    }
+
+    /**
+     * This method writes all of the Employee database information to a file, from a snapshot of the company
+     * taken when it starts.
+     * @param targetFile the file that will be written to with Employee database information
+     * @param listener the listener to report progress to, or null
+     * @return true if the file's output is successful, and false if it fails or is cancelled
+     */
+    public boolean exportDatabase(File targetFile, ProgressListener listener) {
+        return snapshot().exportDatabase(targetFile, listener);
+    }
+
+    /**
+     * This method writes a binary snapshot of the Employee database, under the read lock.
+     * @param targetFile the file that will be written to with the snapshot
+     * @return true if the snapshot is written successfully, and false otherwise
+     */
+    public boolean saveSnapshot(File targetFile) {
+        return read(readCompany -> readCompany.saveSnapshot(targetFile));
+    }
+
+    /**
+     * This method adds the employees of a binary snapshot to the company.
+     * @param sourceFile the snapshot file to read
+     * @return true if the snapshot is read successfully, and false if it cannot be read or is corrupt
+     */
+    public boolean loadSnapshot(File sourceFile) {
+        return write(writeCompany -> writeCompany.loadSnapshot(sourceFile));
+    }
+
+    /**
+     * This method attaches a write-ahead journal that records every later add, remove, and setHours. Changes are
+     * journaled under the write lock, so the journal records them in the order they were made.
+     * @param journal the journal to record changes in, or null to stop recording changes
+     */
+    public void setJournal(CompanyJournal journal) {
+        write(writeCompany -> {
+            writeCompany.setJournal(journal);
+            return null;
+        });
+    }
+
+    /**
+     * This method saves a snapshot of the Employee database and then empties the attached journal. It takes the
+     * write lock, so that no change is journaled between the snapshot and the truncation of the journal.
+     * @param snapshotFile the file that will hold the snapshot
+     * @return true if the checkpoint is successful, and false otherwise
+     */
+    public boolean checkpoint(File snapshotFile) {
+        return write(writeCompany -> writeCompany.checkpoint(snapshotFile));
+    }
+}
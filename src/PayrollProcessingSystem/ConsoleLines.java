@@ -0,0 +1,120 @@
+package PayrollProcessingSystem;
+
+import java.util.ArrayList;
+import java.util.List;
+import javafx.collections.ObservableListBase;
+
+/**
+ * This class holds the lines shown in the output console, keeping only the most recent lines in a ring buffer of
+ * fixed capacity.
+ * It is an ObservableList, so a ListView can show it directly and only creates cells for the visible lines.
+ * When text is appended to a full buffer, the oldest lines are dropped, so the memory used by the console does
+ * not grow with the amount of output.
+ * @author Kathleen Eife, Isha Vora
+ */
+public class ConsoleLines extends ObservableListBase<String> {
+    private final String[] lines;
+    private int firstLine; //position of the oldest line in the ring buffer
+    private int numLines;
+
+    public static final int DEFAULT_CAPACITY = 10000;
+
+    /**
+     * This default constructor creates an empty console with room for DEFAULT_CAPACITY lines.
+     */
+    public ConsoleLines() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * This constructor creates an empty console.
+     * @param capacity the number of lines to keep
+     */
+    public ConsoleLines(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive.");
+        }
+        lines = new String[capacity];
+    }
+
+    /**
+     * This method returns a line of the console.
+     * @param index the index of the line, where 0 is the oldest line kept
+     * @return the line
+     */
+    @Override
+    public String get(int index) {
+        if (index < 0 || index >= numLines) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for " + numLines + " lines.");
+        }
+        return lines[(firstLine + index) % lines.length];
+    }
+
+    /**
+     * This getter method returns the number of lines kept.
+     * @return numLines the number of lines kept
+     */
+    @Override
+    public int size() {
+        return numLines;
+    }
+
+    /**
+     * This getter method returns the number of lines the console keeps.
+     * @return the capacity of the console
+     */
+    public int getCapacity() {
+        return lines.length;
+    }
+
+    /**
+     * This method appends text to the console, one line for each line of the text. A line break at the end of
+     * the text does not start another line.
+     * @param text the text to append
+     */
+    public void append(String text) {
+        ArrayList<String> newLines = new ArrayList<>();
+        int lineStart = 0;
+        int lineEnd = text.indexOf('\n');
+        while (lineEnd >= 0) {
+            newLines.add(text.substring(lineStart, lineEnd));
+            lineStart = lineEnd + 1;
+            lineEnd = text.indexOf('\n', lineStart);
+        }
+        if (lineStart < text.length()) {
+            newLines.add(text.substring(lineStart));
+        }
+        appendLines(newLines);
+    }
+
+    /**
+     * This method appends lines to the console, dropping the oldest lines if the console is full.
+     * @param newLines the lines to append, without line breaks
+     */
+    public void appendLines(List<String> newLines) {
+        int numNew = Math.min(newLines.size(), lines.length);
+        int numDropped = Math.max(0, numLines + numNew - lines.length);
+        if (numDropped > 0) {
+            ArrayList<String> dropped = new ArrayList<>(numDropped);
+            for (int i = 0; i < numDropped; i++) {
+                dropped.add(lines[firstLine]);
+                lines[firstLine] = null;
+                firstLine = (firstLine + 1) % lines.length;
+            }
+            numLines -= numDropped;
+            beginChange();
+            nextRemove(0, dropped);
+            endChange();
+        }
+        if (numNew > 0) {
+            int addStart = numLines;
+            for (String line : newLines.subList(newLines.size() - numNew, newLines.size())) {
+                lines[(firstLine + numLines) % lines.length] = line;
+                numLines++;
+            }
+            beginChange();
+            nextAdd(addStart, numLines);
+            endChange();
+        }
+    }
+}
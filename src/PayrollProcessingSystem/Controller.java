@@ -1,16 +1,31 @@
 package PayrollProcessingSystem;
 
+import javafx.application.Platform;
+import javafx.concurrent.Task;
+import javafx.concurrent.Worker;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import java.net.URL;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.ResourceBundle;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import javafx.geometry.Side;
 import javafx.scene.control.Button;
+import javafx.scene.control.ContextMenu;
 import javafx.scene.control.DatePicker;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListView;
+import javafx.scene.control.MenuItem;
+import javafx.scene.control.ProgressBar;
 import javafx.scene.control.RadioButton;
-import javafx.scene.control.TextArea;
 import javafx.scene.control.TextField;
 import javafx.scene.control.ToggleGroup;
 import javafx.stage.FileChooser;
@@ -22,6 +37,16 @@ import java.lang.NumberFormatException;
  * This class is the controller class for the GUI display.
  * This class handles all GUI controls by taking in the user input and performing the appropriate actions
  * based on what the user enters and what button the user clicks on.
+ * Imports, exports, payment calculations, and prints run on a background thread so that the window stays
+ * responsive; only one of them runs at a time, and the other actions wait until it is done or cancelled.
+ * Output is shown in a ListView over a bounded ConsoleLines buffer, and prints are written to a PagedReport that
+ * is shown one page at a time, so a long report is never held in the window as a whole.
+ * As a name is typed, the employees with a similar name are suggested below the name field, and choosing one fills
+ * in its name, department, date hired, and employee type.
+ * The company is restored from the snapshot and CompanyJournal in CompanyJournal.getDataDirectory() when the
+ * window opens, and every change is journaled from then on. The company is saved to a new snapshot, which empties
+ * the journal, after each export and when the program exits. If the company cannot be restored, the reason is shown
+ * and changes are refused, since they could not be journaled.
  * @author Kathleen Eife, Isha Vora
  */
 public class Controller implements Initializable {
@@ -60,13 +85,45 @@ public class Controller implements Initializable {
     private Button btnSetHours;
 
     @FXML
-    private TextArea txtDisplayMain;
+    private ListView<String> lstDisplayMain;
+
+    @FXML
+    private Button btnPreviousPage, btnNextPage;
+
+    @FXML
+    private ProgressBar progressOperation;
+
+    @FXML
+    private Label lblStatus;
+
+    @FXML
+    private Button btnCancel;
+
+    private final ExecutorService backgroundExecutor = Executors.newSingleThreadExecutor(operation -> {
+        Thread worker = new Thread(operation, "Payroll background operation");
+        worker.setDaemon(true);
+        return worker;
+    });
+    private PayrollTask currentTask; //the operation running on the background thread, or null
+    private final ConsoleLines consoleLines = new ConsoleLines();
+    private PagedReport currentReport; //the report being paged through, or null
+    private int currentPage;
+    private final ContextMenu nameSuggestions = new ContextMenu();
+    private boolean isFillingEmployee; //true while a suggested employee is copied into the input fields
+    private CompanyJournal journal; //the journal attached to the company, or null until it is recovered
+    private File snapshotFile; //the file the company is saved to, or null until it is recovered
 
     private static final int MANAGER_CODE = 1;
     private static final int DEPT_HEAD_CODE = 2;
     private static final int DIRECTOR_CODE = 3;
     private static final int MIN_HOURS = 0;
     private static final int MAX_HOURS = 100;
+    private static final double NANOS_PER_SECOND = 1e9;
+    private static final int MAX_NAME_SUGGESTIONS = 10;
+    private static final int MAX_NAME_MISTAKES = 1;
+    private static final long SHUTDOWN_WAIT_SECONDS = 30;
+    private static final String NOT_RESTORED_MESSAGE = "Employee database could not be restored, so changes cannot "
+            + "be saved. Please close the program, fix the problem, and start it again." + "\n";
 
     /**
      * This method is called to initialize a controller after its root element has been completely processed.
@@ -75,7 +132,172 @@ public class Controller implements Initializable {
      */
     @Override
     public void initialize(URL url, ResourceBundle resourceBundle) {
+        lstDisplayMain.setItems(consoleLines);
+        txtName.textProperty().addListener((observable, oldName, newName) -> suggestNames(newName));
         clearInputFields();
+        runInBackground(new PayrollTask("Recovery", false) {
+            @Override
+            protected String runOperation() throws IOException {
+                PagedReport.deleteStaleReports();
+                File dataDirectory = CompanyJournal.getDataDirectory();
+                journal = CompanyJournal.recover(dataDirectory, myCompany);
+                snapshotFile = new File(dataDirectory, CompanyJournal.SNAPSHOT_FILE_NAME);
+                reportProgress(myCompany.getNumEmployee(), 1, 1);
+                if (myCompany.isEmplistEmpty()) {
+                    return "";
+                }
+                return "Employee database has been restored." + "\n";
+            }
+        });
+    }
+
+    /**
+     * This method is called when the program exits. It waits for the operation running on the background thread,
+     * then deletes the temporary files of the reports, saves the company to a new snapshot, and closes the journal.
+     * Only an operation that can be cancelled is cancelled; the others, such as a save, are left to finish, since
+     * interrupting them while they write to the journal would close it.
+     */
+    public void shutdown() {
+        if (currentTask != null && currentTask.isCancellable()) {
+            currentTask.cancel();
+        }
+        backgroundExecutor.shutdown();
+        boolean isStopped = false;
+        try {
+            isStopped = backgroundExecutor.awaitTermination(SHUTDOWN_WAIT_SECONDS, TimeUnit.SECONDS);
+        }
+        catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (isStopped && currentTask instanceof PrintTask) { //a finished print is no longer shown
+            closeReport(((PrintTask) currentTask).getReport());
+        }
+        closeReport(currentReport);
+        if (journal == null) {
+            return;
+        }
+        if (isStopped) { //otherwise the operation may still change the company, and the journal keeps its changes
+            myCompany.checkpoint(snapshotFile);
+        }
+        try {
+            journal.close();
+        }
+        catch (IOException error) { //the records written before the error are still in the journal
+            System.err.println("Journal could not be closed: " + error.getMessage());
+        }
+    }
+
+    /**
+     * This private helper method creates an operation that saves the company to a new snapshot, which empties the
+     * journal so that the next start does not have to replay it.
+     * @return the operation, or null if the company has no journal
+     */
+    private PayrollTask createCheckpointTask() {
+        if (journal == null) {
+            return null;
+        }
+        return new PayrollTask("Save", false) {
+            @Override
+            protected String runOperation() {
+                if (!myCompany.checkpoint(snapshotFile)) {
+                    return "Employee database could not be saved." + "\n";
+                }
+                reportProgress(myCompany.getNumEmployee(), 1, 1);
+                return "";
+            }
+        };
+    }
+
+    /**
+     * This private helper method shows the employees whose name starts like the typed name below the name field,
+     * allowing for one typing mistake. Nothing is suggested while an operation is using the company.
+     * The name search index is built on the background thread on the first keystroke, rather than with every import,
+     * so imports pay nothing for it until a name is typed; suggestions start once it is built.
+     * @param typedName the text of the name field
+     */
+    private void suggestNames(String typedName) {
+        String prefix = typedName.trim();
+        if (isFillingEmployee || prefix.isEmpty() || (currentTask != null && !currentTask.isOnSnapshot())) {
+            nameSuggestions.hide();
+            return;
+        }
+        if (!myCompany.isNameIndexBuilt()) {
+            nameSuggestions.hide();
+            if (currentTask == null) {
+                runInBackground(new PayrollTask("Name index", false) {
+                    @Override
+                    protected String runOperation() {
+                        myCompany.buildNameIndex();
+                        reportProgress(myCompany.getNumEmployee(), 1, 1);
+                        return "";
+                    }
+                });
+            }
+            return;
+        }
+        List<Employee> matches = myCompany.findSimilarNames(prefix, MAX_NAME_MISTAKES, MAX_NAME_SUGGESTIONS);
+        if (matches.isEmpty()) {
+            nameSuggestions.hide();
+            return;
+        }
+        ArrayList<MenuItem> items = new ArrayList<>();
+        for (Employee employee : matches) {
+            Profile profile = employee.getEmployeeProfile();
+            MenuItem item = new MenuItem(profile.getName() + "  " + profile.getDepartment() + "  "
+                    + profile.getDateHired().getDate());
+            item.setMnemonicParsing(false);
+            item.setOnAction(event -> fillEmployee(employee));
+            items.add(item);
+        }
+        nameSuggestions.getItems().setAll(items);
+        if (!nameSuggestions.isShowing()) {
+            nameSuggestions.show(txtName, Side.BOTTOM, 0, 0);
+        }
+    }
+
+    /**
+     * This private helper method fills in the name, department, date hired, and employee type of a suggested
+     * employee, so that it can be removed or have its hours set without typing them.
+     * @param employee the employee chosen from the suggestions
+     */
+    private void fillEmployee(Employee employee) {
+        Profile profile = employee.getEmployeeProfile();
+        Date dateHired = profile.getDateHired();
+        nameSuggestions.hide();
+        isFillingEmployee = true;
+        txtName.setText(profile.getName());
+        isFillingEmployee = false;
+        rbtnCS.setSelected(rbtnCS.getText().equals(profile.getDepartment()));
+        rbtnECE.setSelected(rbtnECE.getText().equals(profile.getDepartment()));
+        rbtnIT.setSelected(rbtnIT.getText().equals(profile.getDepartment()));
+        dateDateHired.setValue(LocalDate.of(dateHired.getYear(), dateHired.getMonth(), dateHired.getDay()));
+        if (employee instanceof Management) {
+            rbtnManagement.setSelected(true);
+        }
+        else if (employee instanceof Fulltime) {
+            rbtnFulltime.setSelected(true);
+        }
+        else {
+            rbtnParttime.setSelected(true);
+        }
+        processEmployeeType(null);
+        if (employee instanceof Management) {
+            int managementCode = ((Management) employee).getManagementCode();
+            rbtnManager.setSelected(managementCode == MANAGER_CODE);
+            rbtnDepartmentHead.setSelected(managementCode == DEPT_HEAD_CODE);
+            rbtnDirector.setSelected(managementCode == DIRECTOR_CODE);
+        }
+    }
+
+    /**
+     * This private helper method shows text at the end of the output console and scrolls to it.
+     * @param text the text to show
+     */
+    private void display(String text) {
+        consoleLines.append(text);
+        if (!consoleLines.isEmpty()) {
+            lstDisplayMain.scrollTo(consoleLines.size() - 1);
+        }
     }
 
     /**
@@ -87,36 +309,36 @@ public class Controller implements Initializable {
         if (command.charAt(0) == 'A') {
             if (isSuccessful) {
                 if (!(txtHoursWorked.textProperty().get().trim().equals(""))) {
-                    txtDisplayMain.appendText("Employee added. (Note: Hours Worked input ignored because not required)"
+                    display("Employee added. (Note: Hours Worked input ignored because not required)"
                                                   + "\n");
                 }
                 else {
-                    txtDisplayMain.appendText("Employee added." + "\n");
+                    display("Employee added." + "\n");
                 }
             }
             else {
-                txtDisplayMain.appendText("Employee is already in the list." + "\n");
+                display("Employee is already in the list." + "\n");
             }
         }
         else if (command.equals("R")) {
             if (isSuccessful) {
-                txtDisplayMain.appendText("Employee removed." + "\n");
+                display("Employee removed." + "\n");
             }
             else {
-                txtDisplayMain.appendText("Employee does not exist." + "\n");
+                display("Employee does not exist." + "\n");
             }
         }
         else if (command.equals("S")) {
             if (isSuccessful) {
                 if (!(txtRate.textProperty().get().trim().equals(""))) {
-                    txtDisplayMain.appendText("Working hours set. (Note: Pay Rate input ignored because not required)" + "\n");
+                    display("Working hours set. (Note: Pay Rate input ignored because not required)" + "\n");
                 }
                 else {
-                    txtDisplayMain.appendText("Working hours set." + "\n");
+                    display("Working hours set." + "\n");
                 }
             }
             else {
-                txtDisplayMain.appendText("Employee does not exist." + "\n");
+                display("Employee does not exist." + "\n");
             }
         }
     }
@@ -185,7 +407,7 @@ public class Controller implements Initializable {
         processDepartment();
 
         if (inputName.trim().equals("") || dateDateHired.getValue() == null || inputDepartment.equals("")) {
-            txtDisplayMain.appendText("Input field(s) missing." + "\n");
+            display("Input field(s) missing." + "\n");
             return false;
         }
         else {
@@ -199,13 +421,16 @@ public class Controller implements Initializable {
      */
     @FXML
     private void addEmployee(ActionEvent actionEvent) {
+        if (isCompanyBusy() || isJournalMissing()) {
+            return;
+        }
         if (inputEmployeeType.equals("")) {
-            txtDisplayMain.appendText("Input field(s) missing." + "\n");
+            display("Input field(s) missing." + "\n");
         }
         else {
             if (processAttributes()) {
                 if (!(validateDate())) {
-                    txtDisplayMain.appendText("Invalid Date!" + "\n");
+                    display("Invalid Date!" + "\n");
                 }
                 else {
                     if (inputEmployeeType.equals("Full Time")) {
@@ -230,7 +455,7 @@ public class Controller implements Initializable {
                         processManagementType();
 
                         if (inputManagementType.equals("")) {
-                            txtDisplayMain.appendText( "Input field(s) missing." + "\n");
+                            display("Input field(s) missing." + "\n");
                         }
                         else if (validateAnnualSalary()) {
                             Management managementEmployee;
@@ -262,9 +487,12 @@ public class Controller implements Initializable {
      */
     @FXML
     private void removeEmployee(ActionEvent actionEvent) {
+        if (isCompanyBusy() || isJournalMissing()) {
+            return;
+        }
         if (processAttributes()) {
             if (myCompany.isEmplistEmpty()) {
-                txtDisplayMain.appendText("Employee database is empty." + "\n");
+                display("Employee database is empty." + "\n");
             }
             else {
                 Employee removeEmployee = new Employee(inputName, inputDepartment, inputDateHired);
@@ -282,13 +510,16 @@ public class Controller implements Initializable {
      */
     @FXML
     private void processSetHours(ActionEvent actionEvent) {
+        if (isCompanyBusy() || isJournalMissing()) {
+            return;
+        }
         if (processAttributes()) {
             if (txtHoursWorked.textProperty().get().trim().equals("")) {
-                txtDisplayMain.appendText("Input field(s) missing." + "\n");
+                display("Input field(s) missing." + "\n");
             }
             else if (validateHoursWorked()) {
                 if (myCompany.isEmplistEmpty()) {
-                    txtDisplayMain.appendText("Employee database is empty." + "\n");
+                    display("Employee database is empty." + "\n");
                 }
                 else {
                     Parttime setHoursEmployee = new Parttime(inputName, inputDepartment, inputDateHired,
@@ -354,7 +585,7 @@ public class Controller implements Initializable {
      */
     private boolean validateAnnualSalary() {
         if (txtAnnualSalary.textProperty().get().trim().equals("")) {
-            txtDisplayMain.appendText("Input field(s) missing." + "\n");
+            display("Input field(s) missing." + "\n");
             return false;
         }
 
@@ -362,15 +593,15 @@ public class Controller implements Initializable {
             inputAnnualSalary = Float.parseFloat(txtAnnualSalary.textProperty().get().trim());
         }
         catch (NumberFormatException notANumber) {
-            txtDisplayMain.appendText("Invalid Annual Salary: Not a Number." + "\n");
+            display("Invalid Annual Salary: Not a Number." + "\n");
             return false;
         }
         if (inputAnnualSalary < 0) {
-            txtDisplayMain.appendText("Salary cannot be negative." + "\n");
+            display("Salary cannot be negative." + "\n");
             return false;
         }
         if (inputAnnualSalary == 0) {
-            txtDisplayMain.appendText("Salary cannot be zero." + "\n");
+            display("Salary cannot be zero." + "\n");
             return false;
         }
         return true;
@@ -382,7 +613,7 @@ public class Controller implements Initializable {
      */
     private boolean validatePayRate() {
         if (txtRate.textProperty().get().trim().equals("")) {
-            txtDisplayMain.appendText("Input field(s) missing." + "\n");
+            display("Input field(s) missing." + "\n");
             return false;
         }
 
@@ -390,15 +621,15 @@ public class Controller implements Initializable {
             inputPayRate = Float.parseFloat(txtRate.textProperty().get().trim());
         }
         catch (NumberFormatException notANumber) {
-            txtDisplayMain.appendText("Invalid Pay Rate: Not a Number." + "\n");
+            display("Invalid Pay Rate: Not a Number." + "\n");
             return false;
         }
         if (inputPayRate < 0) {
-            txtDisplayMain.appendText("Pay Rate cannot be negative." + "\n");
+            display("Pay Rate cannot be negative." + "\n");
             return false;
         }
         if (inputPayRate == 0) {
-            txtDisplayMain.appendText("Pay Rate cannot be zero." + "\n");
+            display("Pay Rate cannot be zero." + "\n");
             return false;
         }
         return true;
@@ -410,7 +641,7 @@ public class Controller implements Initializable {
      */
     private boolean validateHoursWorked() {
         if (txtHoursWorked.textProperty().get().trim().equals("")) {
-            txtDisplayMain.appendText("Input field(s) missing." + "\n");
+            display("Input field(s) missing." + "\n");
             return false;
         }
 
@@ -418,20 +649,20 @@ public class Controller implements Initializable {
             inputHoursWorked = Integer.parseInt(txtHoursWorked.textProperty().get().trim());
         }
         catch (NumberFormatException notANumber) {
-            txtDisplayMain.appendText("Invalid Hours Worked: Not a Number/Integer." + "\n");
+            display("Invalid Hours Worked: Not a Number/Integer." + "\n");
             return false;
         }
 
         if (inputHoursWorked == MIN_HOURS) {
-            txtDisplayMain.appendText("Working hours cannot be zero." + "\n");
+            display("Working hours cannot be zero." + "\n");
             return false;
         }
         if (inputHoursWorked < MIN_HOURS) {
-            txtDisplayMain.appendText("Working hours cannot be negative." + "\n");
+            display("Working hours cannot be negative." + "\n");
             return false;
         }
         else if (inputHoursWorked > MAX_HOURS) {
-            txtDisplayMain.appendText("Invalid Hours: over 100." + "\n");
+            display("Invalid Hours: over 100." + "\n");
             return false;
         }
         return true;
@@ -492,6 +723,9 @@ public class Controller implements Initializable {
      */
     @FXML
     private void processImport(ActionEvent actionEvent) {
+        if (isBusy() || isJournalMissing()) {
+            return;
+        }
         FileChooser chooser = new FileChooser();
         chooser.setTitle("Open Source File for the Import");
         chooser.getExtensionFilters().addAll(new ExtensionFilter("Text Files", "*.txt"),
@@ -499,16 +733,25 @@ public class Controller implements Initializable {
         Stage stage = new Stage();
         File sourceFile = chooser.showOpenDialog(stage);
         if (sourceFile == null) {
-            txtDisplayMain.appendText("No Import File Selected." + "\n");
+            display("No Import File Selected." + "\n");
         }
         else if (sourceFile.length() == 0) {
-            txtDisplayMain.appendText("Import file is empty." + "\n");
-        }
-        else if (!myCompany.importDatabase(sourceFile, myCompany)) {
-            txtDisplayMain.appendText("File Import Failed." + "\n");
+            display("Import file is empty." + "\n");
         }
         else {
-            txtDisplayMain.appendText("File has been imported successfully." + "\n");
+            runInBackground(new PayrollTask("Import", true) {
+                @Override
+                protected String runOperation() {
+                    int numBefore = myCompany.getNumEmployee();
+                    boolean isImported = myCompany.importDatabase(sourceFile, myCompany, this);
+                    int numAdded = myCompany.getNumEmployee() - numBefore;
+                    reportProgress(numAdded, 1, 1);
+                    if (!isImported) {
+                        return "File Import Failed." + "\n";
+                    }
+                    return "File has been imported successfully." + "\n";
+                }
+            });
         }
     }
 
@@ -518,8 +761,11 @@ public class Controller implements Initializable {
      */
     @FXML
     private void processExport(ActionEvent actionEvent) {
+        if (isBusy()) {
+            return;
+        }
         if (myCompany.isEmplistEmpty()) {
-            txtDisplayMain.appendText("Employee database is empty." + "\n");
+            display("Employee database is empty." + "\n");
         }
         else {
             FileChooser chooser = new FileChooser();
@@ -529,13 +775,26 @@ public class Controller implements Initializable {
             Stage stage = new Stage();
             File targetFile = chooser.showSaveDialog(stage);
             if (targetFile == null) {
-                txtDisplayMain.appendText("No Export File Selected." + "\n");
-            }
-            else if (!myCompany.exportDatabase(targetFile)) {
-                txtDisplayMain.appendText("File Export Failed." + "\n");
+                display("No Export File Selected." + "\n");
             }
             else {
-                txtDisplayMain.appendText("File has been exported successfully." + "\n");
+                runInBackground(new PayrollTask("Export", true) {
+                    @Override
+                    protected String runOperation() {
+                        RosterSnapshot roster = myCompany.snapshot();
+                        releaseCompany();
+                        if (!roster.exportDatabase(targetFile, this)) {
+                            return "File Export Failed." + "\n";
+                        }
+                        reportProgress(roster.getNumEmployee(), 1, 1);
+                        return "File has been exported successfully." + "\n";
+                    }
+
+                    @Override
+                    PayrollTask getNextTask() {
+                        return createCheckpointTask();
+                    }
+                });
             }
         }
     }
@@ -547,7 +806,10 @@ public class Controller implements Initializable {
      */
     @FXML
     private void processPrint(ActionEvent actionEvent) {
-        txtDisplayMain.appendText(myCompany.print());
+        if (isBusy()) {
+            return;
+        }
+        runInBackground(new PrintTask("Print", myCompany, RosterSnapshot::print));
     }
 
     /**
@@ -557,7 +819,10 @@ public class Controller implements Initializable {
      */
     @FXML
     private void processPrintByDate(ActionEvent actionEvent) {
-        txtDisplayMain.appendText(myCompany.printByDate());
+        if (isBusy()) {
+            return;
+        }
+        runInBackground(new PrintTask("Print by date", myCompany, RosterSnapshot::printByDate));
     }
 
     /**
@@ -567,21 +832,436 @@ public class Controller implements Initializable {
      */
     @FXML
     private void processPrintByDepartment(ActionEvent actionEvent) {
-        txtDisplayMain.appendText(myCompany.printByDepartment());
+        if (isBusy()) {
+            return;
+        }
+        runInBackground(new PrintTask("Print by department", myCompany, RosterSnapshot::printByDepartment));
     }
 
     /**
-     * This method processes the payments for all Employees using the processPayment method from the Company class.
+     * This method processes the payments for all Employees. If few employees changed since the last payroll run,
+     * only their payments are calculated; otherwise the payments are computed from a snapshot of the roster, so the
+     * company can be changed while they are computed, and are then set in the company at once.
      * @param actionEvent Calculate Payment button is clicked on
      */
     @FXML
     private void processCalculatePayment(ActionEvent actionEvent) {
+        if (isBusy()) {
+            return;
+        }
         if (myCompany.isEmplistEmpty()) {
-            txtDisplayMain.appendText("Employee database is empty." + "\n");
+            display("Employee database is empty." + "\n");
+        }
+        else {
+            runInBackground(new PayrollTask("Calculate payment", false) {
+                @Override
+                protected String runOperation() throws InterruptedException {
+                    if (myCompany.canProcessChangedPayments()) {
+                        myCompany.processChangedPayments();
+                        reportProgress(myCompany.getNumEmployee(), 1, 1);
+                        return "Calculation of employee payments is done." + "\n";
+                    }
+                    RosterSnapshot employees = myCompany.startPayrollRun();
+                    boolean isInCents = myCompany.isPayingInCents();
+                    releaseCompany();
+                    float[] payments = employees.computePayments(isInCents);
+                    reclaimCompany();
+                    myCompany.finishPayrollRun(employees, payments, isInCents);
+                    reportProgress(myCompany.getNumEmployee(), 1, 1);
+                    return "Calculation of employee payments is done." + "\n";
+                }
+            });
+        }
+    }
+
+    /**
+     * This method displays the payroll totals for the company, each department, each employee type, and each
+     * management code using the printSummary method from the Company class.
+     * @param actionEvent Payroll Summary button is clicked on
+     */
+    @FXML
+    private void processPrintSummary(ActionEvent actionEvent) {
+        if (isCompanyBusy()) {
+            return;
+        }
+        display(myCompany.printSummary());
+    }
+
+    /**
+     * This method cancels the operation running on the background thread.
+     * @param actionEvent Cancel button is clicked on
+     */
+    @FXML
+    private void cancelOperation(ActionEvent actionEvent) {
+        if (currentTask != null) {
+            currentTask.cancel();
+        }
+    }
+
+    /**
+     * This private helper method checks if an operation is running on the background thread, and tells the user
+     * to wait if it is. Only one operation runs on the background thread at a time.
+     * @return true if an operation is running, false otherwise
+     */
+    private boolean isBusy() {
+        if (currentTask != null) {
+            display("Please wait for the current operation to finish or cancel it." + "\n");
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * This private helper method checks if the company has no journal because it could not be restored when the
+     * program started, and tells the user that changes are refused if so. Without a journal, a change would be lost
+     * if the program stopped, and no snapshot is saved over the one that could not be read.
+     * @return true if the company has no journal, false otherwise
+     */
+    private boolean isJournalMissing() {
+        if (journal == null) {
+            display(NOT_RESTORED_MESSAGE);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * This private helper method checks if the operation running on the background thread is using the company,
+     * and tells the user to wait if it is. The company must not be read or changed by the GUI while such an
+     * operation runs. The prints and the export take a snapshot of the roster on the background thread and then
+     * work against it, so the company can be changed once the snapshot is taken.
+     * @return true if an operation is using the company, false otherwise
+     */
+    private boolean isCompanyBusy() {
+        if (currentTask != null && !currentTask.isOnSnapshot()) {
+            return isBusy();
+        }
+        return false;
+    }
+
+    /**
+     * This private helper method runs an operation on the background thread, showing its progress in the status
+     * bar until it is done.
+     * @param task the operation to run
+     */
+    private void runInBackground(PayrollTask task) {
+        currentTask = task;
+        progressOperation.progressProperty().bind(task.progressProperty());
+        lblStatus.textProperty().bind(task.messageProperty());
+        btnCancel.setDisable(!task.isCancellable());
+        backgroundExecutor.execute(() -> {
+            task.run();
+            Platform.runLater(() -> finishTask(task)); //after the operation has really stopped, even if cancelled
+        });
+    }
+
+    /**
+     * This private helper method shows the outcome of an operation that has stopped running on the background
+     * thread, and lets the user start other actions again.
+     * @param task the operation that stopped
+     */
+    private void finishTask(PayrollTask task) {
+        progressOperation.progressProperty().unbind();
+        lblStatus.textProperty().unbind();
+        progressOperation.setProgress(0);
+        btnCancel.setDisable(true);
+        currentTask = null;
+        if (task.isCancelled()) {
+            lblStatus.setText(task.getSummary());
+            display(task.getOperationName() + " cancelled." + "\n");
+        }
+        else if (task.getException() != null) {
+            Throwable error = task.getException();
+            String reason = (error.getMessage() != null) ? error.getMessage() : error.toString();
+            lblStatus.setText(task.getOperationName() + " failed.");
+            display(task.getOperationName() + " failed: " + reason + "\n");
+            if (journal == null) { //the recovery failed, and the company has no journal for new changes
+                display(NOT_RESTORED_MESSAGE);
+            }
+        }
+        else if (task instanceof PrintTask) {
+            lblStatus.setText(task.getSummary());
+            showReport(((PrintTask) task).getReport());
+        }
+        else {
+            lblStatus.setText(task.getSummary());
+            display(task.getValue());
+        }
+        if (task instanceof PrintTask && task.getState() != Worker.State.SUCCEEDED) {
+            closeReport(((PrintTask) task).getReport());
+        }
+        PayrollTask nextTask = task.getNextTask();
+        if (task.getState() == Worker.State.SUCCEEDED && nextTask != null) {
+            runInBackground(nextTask);
+        }
+    }
+
+    /**
+     * This method shows the previous page of the report being paged through.
+     * @param actionEvent Previous Page button is clicked on
+     */
+    @FXML
+    private void processPreviousPage(ActionEvent actionEvent) {
+        if (currentReport != null && currentPage > 0) {
+            currentPage--;
+            showPage();
+        }
+    }
+
+    /**
+     * This method shows the next page of the report being paged through.
+     * @param actionEvent Next Page button is clicked on
+     */
+    @FXML
+    private void processNextPage(ActionEvent actionEvent) {
+        if (currentReport != null && currentPage < currentReport.getNumPages() - 1) {
+            currentPage++;
+            showPage();
+        }
+    }
+
+    /**
+     * This private helper method shows the first page of a finished report. A report longer than one page is kept
+     * so that its other pages can be shown with the Previous Page and Next Page buttons.
+     * @param report the finished report
+     */
+    private void showReport(PagedReport report) {
+        closeReport(currentReport);
+        currentReport = report;
+        currentPage = 0;
+        showPage();
+    }
+
+    /**
+     * This private helper method shows the current page of the report being paged through in the output console.
+     */
+    private void showPage() {
+        List<String> lines;
+        try {
+            lines = currentReport.readPage(currentPage);
+        }
+        catch (IOException error) {
+            closeReport(currentReport);
+            display("Report could not be read." + "\n");
+            return;
+        }
+        int pageStart = consoleLines.size();
+        consoleLines.appendLines(lines);
+        pageStart -= Math.max(0, pageStart + lines.size() - consoleLines.getCapacity()); //oldest lines dropped
+        int numPages = currentReport.getNumPages();
+        if (numPages > 1) {
+            display(String.format("--Page %,d of %,d (%,d lines); use Previous Page and Next Page to see the rest of"
+                    + " the report--" + "\n", currentPage + 1, numPages, currentReport.getNumLines()));
+            btnPreviousPage.setDisable(currentPage == 0);
+            btnNextPage.setDisable(currentPage == numPages - 1);
         }
         else {
-            myCompany.processPayments();
-            txtDisplayMain.appendText("Calculation of employee payments is done." + "\n");
+            closeReport(currentReport);
+        }
+        lstDisplayMain.scrollTo(Math.max(pageStart, 0));
+    }
+
+    /**
+     * This private helper method closes a report and deletes its temporary file. If it is the report being paged
+     * through, the page buttons are disabled.
+     * @param report the report to close, or null
+     */
+    private void closeReport(PagedReport report) {
+        if (report == null) {
+            return;
+        }
+        if (report == currentReport) {
+            currentReport = null;
+            btnPreviousPage.setDisable(true);
+            btnNextPage.setDisable(true);
+        }
+        try {
+            report.close();
+        }
+        catch (IOException error) { //the temporary file is still deleted by close()
+            lblStatus.setText("Report file could not be closed.");
+        }
+    }
+
+    /**
+     * This interface writes a report from a snapshot of the roster, such as
+     * RosterSnapshot.print(Appendable, ProgressListener).
+     */
+    private interface ReportWriter {
+        /**
+         * This method writes the report.
+         * @param roster the snapshot of the roster to report on
+         * @param out the Appendable to write to
+         * @param listener the listener to report progress to
+         * @throws IOException if the report cannot be written
+         */
+        void write(RosterSnapshot roster, Appendable out, ProgressListener listener) throws IOException;
+    }
+
+    /**
+     * This class is an operation on the company that runs on the background thread.
+     * The operation reports its progress through the ProgressListener methods, which update the progress bar
+     * and the status message with the number of employees processed and the throughput.
+     */
+    private abstract static class PayrollTask extends Task<String> implements ProgressListener {
+        private final String operationName;
+        private final boolean isCancellable;
+        private volatile boolean isOnSnapshot; //set once the operation only uses a snapshot of the roster
+        private long startTime;
+        private volatile long numProcessed;
+
+        /**
+         * This constructor creates an operation.
+         * @param operationName the name of the operation to show to the user
+         * @param isCancellable true if the operation stops when it is cancelled, false otherwise
+         */
+        PayrollTask(String operationName, boolean isCancellable) {
+            this.operationName = operationName;
+            this.isCancellable = isCancellable;
+        }
+
+        /**
+         * This method runs the operation on the background thread.
+         * @return the text to display when the operation is done
+         * @throws Exception if the operation fails
+         */
+        protected abstract String runOperation() throws Exception;
+
+        /**
+         * This method runs the operation and keeps the time it started.
+         * @return the text to display when the operation is done
+         * @throws Exception if the operation fails
+         */
+        @Override
+        protected String call() throws Exception {
+            startTime = System.nanoTime();
+            updateMessage(operationName + "...");
+            return runOperation();
+        }
+
+        /**
+         * This method shows the progress of the operation in the progress bar and the status message.
+         * @param numProcessed the number of employees processed so far
+         * @param workDone the amount of work done so far
+         * @param totalWork the total amount of work
+         */
+        @Override
+        public void reportProgress(long numProcessed, long workDone, long totalWork) {
+            this.numProcessed = numProcessed;
+            updateProgress(workDone, totalWork);
+            updateMessage(getSummary());
+        }
+
+        /**
+         * This method returns the number of employees processed so far and the throughput of the operation.
+         * @return the summary of the operation
+         */
+        String getSummary() {
+            double seconds = Math.max(System.nanoTime() - startTime, 1) / NANOS_PER_SECOND;
+            return String.format("%s: %,d employees in %.2f s (%,.0f employees/s)", operationName, numProcessed,
+                    seconds, numProcessed / seconds);
+        }
+
+        /**
+         * This getter method returns the name of the operation.
+         * @return operationName the name of the operation
+         */
+        String getOperationName() {
+            return operationName;
+        }
+
+        /**
+         * This method checks if the operation stops when it is cancelled.
+         * @return true if the operation can be cancelled, false otherwise
+         */
+        boolean isCancellable() {
+            return isCancellable;
+        }
+
+        /**
+         * This method checks if the operation only uses a snapshot of the roster, so the company can be changed
+         * while it runs.
+         * @return true if the operation only uses a snapshot, false otherwise
+         */
+        boolean isOnSnapshot() {
+            return isOnSnapshot;
+        }
+
+        /**
+         * This method is called by the operation on the background thread once it has taken a snapshot of the
+         * roster, and no longer uses the company, so that the GUI can change the company while it goes on.
+         */
+        void releaseCompany() {
+            isOnSnapshot = true;
+        }
+
+        /**
+         * This method is called by the operation on the background thread when it has to use the company again
+         * after releaseCompany(). The operation is switched back on the JavaFX thread, between two GUI actions, so
+         * no change the GUI makes to the company is still going on when this method returns.
+         * @throws InterruptedException if the background thread is interrupted while waiting
+         */
+        void reclaimCompany() throws InterruptedException {
+            CountDownLatch reclaimed = new CountDownLatch(1);
+            Platform.runLater(() -> {
+                isOnSnapshot = false;
+                reclaimed.countDown();
+            });
+            reclaimed.await();
+        }
+
+        /**
+         * This method returns the operation to run once this one has succeeded.
+         * @return the next operation, or null if there is none
+         */
+        PayrollTask getNextTask() {
+            return null;
+        }
+    }
+
+    /**
+     * This class is a print that runs on the background thread and writes its report to a PagedReport, from a
+     * snapshot of the roster that it takes when it starts.
+     */
+    private static class PrintTask extends PayrollTask {
+        private final Company company;
+        private final ReportWriter reportWriter;
+        private PagedReport report; //null until the print starts
+
+        /**
+         * This constructor creates a print.
+         * @param operationName the name of the print to show to the user
+         * @param company the company to print
+         * @param reportWriter the method that writes the report from the snapshot
+         */
+        PrintTask(String operationName, Company company, ReportWriter reportWriter) {
+            super(operationName, true);
+            this.company = company;
+            this.reportWriter = reportWriter;
+        }
+
+        /**
+         * This method takes a snapshot of the roster and writes the report from it to a new PagedReport.
+         * @return an empty string, since the report is shown with getReport()
+         * @throws IOException if the report cannot be written
+         */
+        @Override
+        protected String runOperation() throws IOException {
+            RosterSnapshot roster = company.snapshot();
+            releaseCompany();
+            report = new PagedReport();
+            reportWriter.write(roster, report, this);
+            report.finish();
+            reportProgress(roster.getNumEmployee(), 1, 1);
+            return "";
+        }
+
+        /**
+         * This getter method returns the report written by the print.
+         * @return report the report, or null if the print did not start
+         */
+        PagedReport getReport() {
+            return report;
         }
     }
 }
\ No newline at end of file
@@ -9,9 +9,10 @@ import java.util.Calendar;
  */
 public class Date implements Comparable<Date> {
 
-    private int year;
-    private int month;
-    private int day;
+    private int packedDate; //year * 10000 + month * 100 + day, so packed dates sort the same as the dates
+
+    private static volatile int cachedToday; //today's packed date
+    private static volatile long cachedTodayExpiry; //time in milliseconds when cachedToday must be refreshed
 
     public static final int QUADRENNIAL = 4;
     public static final int CENTENNIAL = 100;
@@ -39,32 +40,114 @@ public class Date implements Comparable<Date> {
     public static final int NOVEMBER = 11;
     public static final int DECEMBER = 12;
 
+    private static final int YEAR_SHIFT = 10000;
+    private static final int MONTH_SHIFT = 100;
+    private static final int MAX_YEAR = 99999;
+    private static final int MAX_MONTH_OR_DAY = 99;
+    private static final int NUM_DATE_PARTS = 3;
+    private static final int DECIMAL_RADIX = 10;
+
     /**
      * This constructor takes in a date string and creates a date object.
      * @param date a string in the form of mm/dd/yyyy
      */
     public Date(String date) {   //taking mm/dd/yyyy and create a Date object
-        String [] dateParts = date.split("/");
-        int month = Integer.parseInt(dateParts[0]);
-        int day = Integer.parseInt(dateParts[1]);
-        int year = Integer.parseInt(dateParts[2]);
+        this(date, 0, date.length());
+    }
 
-        this.month = month;
-        this.day = day;
-        this.year = year;
+    /**
+     * This constructor parses a date in the form of mm/dd/yyyy from part of a character sequence and creates a
+     * date object, without creating any intermediate strings or arrays.
+     * Each part that is too large for a date (a year over 99999, or a month or day over 99) is capped, which
+     * isValid() then rejects.
+     * @param chars the character sequence holding the date
+     * @param start the index of the first character of the date
+     * @param end the index one past the last character of the date
+     * @throws NumberFormatException if the characters are not three groups of digits separated by '/'
+     */
+    public Date(CharSequence chars, int start, int end) {
+        int month = 0;
+        int day = 0;
+        int partIndex = 0;
+        int partValue = 0;
+        boolean hasDigit = false;
+        for (int i = start; i < end; i++) {
+            char c = chars.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (partValue <= MAX_YEAR) {
+                    partValue = (partValue * DECIMAL_RADIX) + (c - '0');
+                }
+                hasDigit = true;
+            }
+            else if (c == '/' && hasDigit && partIndex < NUM_DATE_PARTS - 1) {
+                if (partIndex == 0) {
+                    month = partValue;
+                }
+                else {
+                    day = partValue;
+                }
+                partIndex++;
+                partValue = 0;
+                hasDigit = false;
+            }
+            else {
+                throw new NumberFormatException("Invalid date: " + chars.subSequence(start, end));
+            }
+        }
+        if (!hasDigit || partIndex != NUM_DATE_PARTS - 1) {
+            throw new NumberFormatException("Invalid date: " + chars.subSequence(start, end));
+        }
+        this.packedDate = pack(partValue, month, day);
     }
 
     /**
      * This constructor creates a date object with today's date.
      */
     public Date() {   //Creates an object with today's date
-        int currMonth = (Calendar.getInstance().get(Calendar.MONTH)) + 1; //one added to get numeric value of the month
-        int currDay = Calendar.getInstance().get(Calendar.DATE);
-        int currYear = Calendar.getInstance().get(Calendar.YEAR);
+        this.packedDate = getToday();
+    }
+
+    /**
+     * This constructor creates a date object from a packed date.
+     * @param packedDate a date packed as year * 10000 + month * 100 + day
+     */
+    public Date(int packedDate) {
+        this.packedDate = packedDate;
+    }
+
+    /**
+     * This private helper method packs a year, month, and day into one integer, capping each part.
+     * @param year the year
+     * @param month the month
+     * @param day the day
+     * @return year * 10000 + month * 100 + day
+     */
+    private static int pack(int year, int month, int day) {
+        return (Math.min(year, MAX_YEAR) * YEAR_SHIFT) + (Math.min(month, MAX_MONTH_OR_DAY) * MONTH_SHIFT)
+                + Math.min(day, MAX_MONTH_OR_DAY);
+    }
 
-        this.month = currMonth;
-        this.day = currDay;
-        this.year = currYear;
+    /**
+     * This private helper method returns today's packed date.
+     * The date is read from the Calendar at most once per day and cached until the next midnight.
+     * @return today's packed date
+     */
+    private static int getToday() {
+        long now = System.currentTimeMillis();
+        if (now >= cachedTodayExpiry) {
+            Calendar today = Calendar.getInstance();
+            int currMonth = today.get(Calendar.MONTH) + 1; //one added to get numeric value of the month
+            int todayPacked = pack(today.get(Calendar.YEAR), currMonth, today.get(Calendar.DATE));
+            today.set(Calendar.HOUR_OF_DAY, 0);
+            today.set(Calendar.MINUTE, 0);
+            today.set(Calendar.SECOND, 0);
+            today.set(Calendar.MILLISECOND, 0);
+            today.add(Calendar.DATE, 1);
+            cachedToday = todayPacked;
+            cachedTodayExpiry = today.getTimeInMillis();
+            return todayPacked;
+        }
+        return cachedToday;
     }
 
     /**
@@ -75,31 +158,31 @@ public class Date implements Comparable<Date> {
      */
     @Override
     public int compareTo(Date date) { //return 1, 0, or -1
-        if (this.year > date.year) {
-            return 1;
-        }
-        else if (this.year < date.year) {
-            return -1;
-        }
-        else {
-            if (this.month > date.month) {
-                return 1;
-            }
-            else if (this.month < date.month) {
-                return -1;
-            }
-            else {
-                if (this.day > date.day) {
-                    return 1;
-                }
-                else if (this.day < date.day) {
-                    return -1;
-                }
-                else {
-                    return 0;
-                }
+        return Integer.compare(this.packedDate, date.packedDate);
+    }
+
+    /**
+     * This method checks if two objects are the same date.
+     * @param obj an object
+     * @return true if the object is a Date with the same year, month, and day, false otherwise
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj instanceof Date) {
+            if (compareTo((Date) obj) == 0) {
+                return true;
             }
         }
+        return false;
+    }
+
+    /**
+     * This method returns a hash code for the date that is consistent with compareTo().
+     * @return hash code computed from the year, month, and day
+     */
+    @Override
+    public int hashCode() {
+        return packedDate;
     }
 
     /**
@@ -107,6 +190,7 @@ public class Date implements Comparable<Date> {
      * @return true if year is a leap year, false otherwise
      */
     private boolean isLeapYear() {
+        int year = getYear();
         if (year % QUADRENNIAL == 0) {
             if (year % CENTENNIAL == 0) {
                 if (year % QUARTERCENTENNIAL == 0) {
@@ -130,12 +214,7 @@ public class Date implements Comparable<Date> {
      * @return true if date entered by the user past the current date, false otherwise
      */
     private boolean isPastCurrDate() {
-        Date today = new Date();
-        String stringDateInput = month + "/" + day + "/" + year;
-        Date dateInput = new Date(stringDateInput);
-        int result = dateInput.compareTo(today);
-
-        if (result == 1) {
+        if (packedDate > getToday()) {
             return true;
         }
         else {
@@ -148,6 +227,10 @@ public class Date implements Comparable<Date> {
      * @return true if date is valid, false otherwise
      */
     public boolean isValid() {
+        int year = getYear();
+        int month = getMonth();
+        int day = getDay();
+
         if (year < START_YEAR) {
             return false;
         }
@@ -202,7 +285,7 @@ public class Date implements Comparable<Date> {
      * @return string form of the date
      */
     public String getDate() {
-        return (month + "/" + day + "/" + year);
+        return (getMonth() + "/" + getDay() + "/" + getYear());
     }
 
     /**
@@ -210,7 +293,7 @@ public class Date implements Comparable<Date> {
      * @return month the month that the book was published
      */
     public int getMonth() {
-        return month;
+        return (packedDate / MONTH_SHIFT) % MONTH_SHIFT;
     }
 
     /**
@@ -218,7 +301,7 @@ public class Date implements Comparable<Date> {
      * @return year the year that the book was published
      */
     public int getYear() {
-        return year;
+        return packedDate / YEAR_SHIFT;
     }
 
     /**
@@ -226,6 +309,14 @@ public class Date implements Comparable<Date> {
      * @return day the day that the book was published
      */
     public int getDay() {
-        return day;
+        return packedDate % MONTH_SHIFT;
+    }
+
+    /**
+     * This getter method returns the date packed into one integer.
+     * @return packedDate the date packed as year * 10000 + month * 100 + day
+     */
+    public int getPackedDate() {
+        return packedDate;
     }
 }
@@ -10,7 +10,14 @@ public class Employee {
 
     private Profile employeeProfile;
     private float payment = 0f;
+    long rosterKey; //the order the employee was added to its company in, set by Company.add()
 
+    /**
+     * This formatter was used to write the amounts of the earning statements.
+     * @deprecated a DecimalFormat is not safe to use from several threads at once; use MoneyFormatter, which writes
+     * the same ###,##0.00 output, instead. The statements no longer use this formatter.
+     */
+    @Deprecated
     public static final DecimalFormat DECIMAL_FORMATTER = new DecimalFormat("###,##0.00");
 
     /**
@@ -38,6 +45,14 @@ public class Employee {
         this.payment = payment;
     }
 
+    /**
+     * This getter method returns the payment amount for an employee for a pay period.
+     * @return payment the payment amount of an employee for a pay period
+     */
+    public float getPayment() {
+        return payment;
+    }
+
     /**
      * This getter method returns an employee's profile.
      * @return employeeProfile the profile of an employee which contains profile attributes
@@ -53,13 +68,34 @@ public class Employee {
     public void calculatePayment() {
     }
 
+    /**
+     * This method computes the payment amount for a pay period without setting it, so that a payroll run can work
+     * out the payments first and set them all at once later. The superclass keeps the current payment.
+     * @return the payment amount for a pay period
+     */
+    float computePayment() {
+        return payment;
+    }
+
     /**
      * This method creates and returns a string representation of an employee's attributes.
      * @return string representation of an employee's attributes
      */
     @Override
     public String toString() {
-        return (employeeProfile.toString() + "::Payment $" + DECIMAL_FORMATTER.format(payment));
+        StringBuilder statement = new StringBuilder();
+        appendStatement(statement);
+        return statement.toString();
+    }
+
+    /**
+     * This method appends the string representation of an employee's attributes to a StringBuilder, so that
+     * statements can be written out one after another with a single reusable StringBuilder.
+     * @param statement the StringBuilder to append to
+     */
+    public void appendStatement(StringBuilder statement) {
+        employeeProfile.appendTo(statement);
+        MoneyFormatter.append(statement.append("::Payment $"), payment);
     }
 
     /**
@@ -76,4 +112,16 @@ public class Employee {
         }
         return false;
     }
+
+    /**
+     * This method returns a hash code for the employee that is consistent with equals().
+     * @return hash code of the employee's profile, or 0 if the employee has no profile
+     */
+    @Override
+    public int hashCode() {
+        if (employeeProfile == null) {
+            return 0;
+        }
+        return employeeProfile.hashCode();
+    }
 }
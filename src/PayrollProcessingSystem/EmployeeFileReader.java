@@ -0,0 +1,378 @@
+package PayrollProcessingSystem;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * This class reads employees from a database file in the import format, one employee per line:
+ * P,name,department,mm/dd/yyyy,hourlyPayRate or F,name,department,mm/dd/yyyy,salary or
+ * M,name,department,mm/dd/yyyy,salary,managementCode.
+ * The file is read through a FileChannel into one fixed-size buffer and each line is parsed in place, so the
+ * memory used does not depend on the size of the file. Only the employee name is copied into a new String;
+ * departments are shared between employees, and dates and amounts are parsed straight from the line.
+ * @author Kathleen Eife, Isha Vora
+ */
+public class EmployeeFileReader implements Closeable {
+    private final FileChannel channel;
+    private final ByteBuffer readBuffer;
+    private final Charset charset;
+    private final long length; //bytes of the file to read in total
+    private long remaining; //bytes of the file left to read into readBuffer
+    private byte[] lineBytes;
+    private char[] lineChars;
+    private CharBuffer lineView; //CharSequence view of lineChars for the Date parser
+    private int lineLength;
+    private boolean skipLineFeed; //true if the last line ended with '\r' and a following '\n' must be skipped
+    private long lineNumber;
+    private final int[] fieldStarts;
+    private final int[] fieldEnds;
+    private final ArrayList<String> departments; //departments seen so far, shared between employees
+
+    private static final int READ_BUFFER_SIZE = 1 << 20;
+    private static final int INITIAL_LINE_CAPACITY = 128;
+    private static final int NUM_PARTTIME_FIELDS = 5;
+    private static final int NUM_FULLTIME_FIELDS = 5;
+    private static final int NUM_MANAGEMENT_FIELDS = 6;
+    private static final int MAX_FIELDS = 6;
+    private static final int MAX_EXACT_MANTISSA = 1 << 24; //largest integer a float holds exactly
+    private static final int MAX_MANTISSA_DIGITS = 9;
+    private static final float[] POWERS_OF_TEN = {1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f};
+
+    /**
+     * This constructor opens a database file for reading.
+     * @param sourceFile the file to read employees from
+     * @throws IOException if the file cannot be opened
+     */
+    public EmployeeFileReader(File sourceFile) throws IOException {
+        this(sourceFile, 0, sourceFile.length());
+    }
+
+    /**
+     * This constructor opens part of a database file for reading.
+     * @param sourceFile the file to read employees from
+     * @param start the position of the first byte to read, which must be the start of a line
+     * @param end the position one past the last byte to read, which must be the end of a line or of the file
+     * @throws IOException if the file cannot be opened
+     */
+    public EmployeeFileReader(File sourceFile, long start, long end) throws IOException {
+        channel = FileChannel.open(sourceFile.toPath(), StandardOpenOption.READ);
+        channel.position(start);
+        length = end - start;
+        remaining = length;
+        readBuffer = ByteBuffer.allocateDirect((int) Math.min(READ_BUFFER_SIZE, Math.max(remaining, 1)));
+        readBuffer.flip();
+        charset = Charset.defaultCharset();
+        lineBytes = new byte[INITIAL_LINE_CAPACITY];
+        lineChars = new char[INITIAL_LINE_CAPACITY];
+        lineView = CharBuffer.wrap(lineChars);
+        fieldStarts = new int[MAX_FIELDS];
+        fieldEnds = new int[MAX_FIELDS];
+        departments = new ArrayList<>();
+    }
+
+    /**
+     * This method reads the next line of the file into lineBytes.
+     * @return true if a line was read, false at the end of the file
+     * @throws IOException if the file cannot be read
+     */
+    private boolean readLine() throws IOException {
+        lineLength = 0;
+        boolean hasLine = false;
+        while (true) {
+            if (!readBuffer.hasRemaining()) {
+                if (remaining <= 0) {
+                    return endOfFile(hasLine);
+                }
+                readBuffer.clear();
+                if (readBuffer.capacity() > remaining) {
+                    readBuffer.limit((int) remaining);
+                }
+                int numRead = channel.read(readBuffer);
+                readBuffer.flip();
+                if (numRead < 0) {
+                    remaining = 0;
+                    return endOfFile(hasLine);
+                }
+                remaining -= numRead;
+            }
+            byte b = readBuffer.get();
+            if (skipLineFeed) {
+                skipLineFeed = false;
+                if (b == '\n') {
+                    continue;
+                }
+            }
+            if (b == '\n' || b == '\r') {
+                skipLineFeed = (b == '\r');
+                lineNumber++;
+                return true;
+            }
+            if (lineLength == lineBytes.length) {
+                lineBytes = Arrays.copyOf(lineBytes, lineLength * 2);
+            }
+            lineBytes[lineLength] = b;
+            lineLength++;
+            hasLine = true;
+        }
+    }
+
+    /**
+     * This private helper method handles the end of the file while reading a line.
+     * @param hasLine true if the last line of the file has characters but no line ending
+     * @return true if there is a last line to return, false otherwise
+     */
+    private boolean endOfFile(boolean hasLine) {
+        if (hasLine) {
+            lineNumber++;
+        }
+        return hasLine;
+    }
+
+    /**
+     * This private helper method copies the bytes of the current line into lineChars.
+     * ASCII lines are copied byte by byte; any other line is decoded with the default charset.
+     */
+    private void decodeLine() {
+        boolean isAscii = true;
+        for (int i = 0; i < lineLength; i++) {
+            if (lineBytes[i] < 0) {
+                isAscii = false;
+                break;
+            }
+        }
+        char[] decoded = null;
+        int charLength = lineLength;
+        if (!isAscii) {
+            decoded = new String(lineBytes, 0, lineLength, charset).toCharArray();
+            charLength = decoded.length;
+        }
+        if (lineChars.length < charLength) {
+            lineChars = new char[Math.max(charLength, lineChars.length * 2)];
+            lineView = CharBuffer.wrap(lineChars);
+        }
+        if (isAscii) {
+            for (int i = 0; i < lineLength; i++) {
+                lineChars[i] = (char) lineBytes[i];
+            }
+        }
+        else {
+            System.arraycopy(decoded, 0, lineChars, 0, charLength);
+        }
+        lineLength = charLength;
+    }
+
+    /**
+     * This method reads the next employee from the file.
+     * @return the next Parttime, Fulltime, or Management employee, or null at the end of the file
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if the line is not in the import format
+     */
+    public Employee next() throws IOException {
+        if (!readLine()) {
+            return null;
+        }
+        decodeLine();
+        int numFields = splitFields();
+        char employeeType = getEmployeeType(fieldEnds[0]);
+        int expectedFields;
+        if (employeeType == 'P') {
+            expectedFields = NUM_PARTTIME_FIELDS;
+        }
+        else if (employeeType == 'F') {
+            expectedFields = NUM_FULLTIME_FIELDS;
+        }
+        else if (employeeType == 'M') {
+            expectedFields = NUM_MANAGEMENT_FIELDS;
+        }
+        else {
+            throw new IllegalArgumentException("Unknown employee type on line " + lineNumber + ".");
+        }
+        if (numFields < expectedFields) {
+            throw new IllegalArgumentException("Missing field(s) on line " + lineNumber + ".");
+        }
+        String name = new String(lineChars, fieldStarts[1], fieldEnds[1] - fieldStarts[1]);
+        String department = getDepartment(fieldStarts[2], fieldEnds[2]);
+        Date dateHired = new Date(lineView, fieldStarts[3], fieldEnds[3]);
+        float amount = parseFloat(fieldStarts[4], fieldEnds[4]);
+        if (employeeType == 'P') {
+            return new Parttime(name, department, dateHired, amount);
+        }
+        else if (employeeType == 'F') {
+            return new Fulltime(name, department, dateHired, amount);
+        }
+        int managementCode = parseInt(fieldStarts[5], fieldEnds[5]);
+        return new Management(name, department, dateHired, amount, managementCode);
+    }
+
+    /**
+     * This private helper method finds the comma-separated fields of the current line.
+     * The start and end of the first MAX_FIELDS fields are stored in fieldStarts and fieldEnds; any fields
+     * after them are counted but ignored.
+     * @return the number of fields in the line
+     */
+    private int splitFields() {
+        int numFields = 1;
+        fieldStarts[0] = 0;
+        for (int i = 0; i < lineLength; i++) {
+            if (lineChars[i] == ',') {
+                if (numFields <= MAX_FIELDS) {
+                    fieldEnds[numFields - 1] = i;
+                }
+                if (numFields < MAX_FIELDS) {
+                    fieldStarts[numFields] = i + 1;
+                }
+                numFields++;
+            }
+        }
+        if (numFields <= MAX_FIELDS) {
+            fieldEnds[numFields - 1] = lineLength;
+        }
+        return numFields;
+    }
+
+    /**
+     * This private helper method returns the employee type code in the first field, ignoring whitespace.
+     * @param end the index one past the end of the first field
+     * @return 'P', 'F', or 'M', or 0 if the field is not one of these codes
+     */
+    private char getEmployeeType(int end) {
+        int start = 0;
+        while (start < end && Character.isWhitespace(lineChars[start])) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(lineChars[end - 1])) {
+            end--;
+        }
+        if (end - start != 1) {
+            return 0;
+        }
+        return lineChars[start];
+    }
+
+    /**
+     * This private helper method returns the department in a field, reusing the String of an earlier employee
+     * in the same department.
+     * @param start the index of the first character of the field
+     * @param end the index one past the last character of the field
+     * @return the department code
+     */
+    private String getDepartment(int start, int end) {
+        int length = end - start;
+        for (String department : departments) {
+            if (department.length() == length && isSameText(department, start)) {
+                return department;
+            }
+        }
+        String department = new String(lineChars, start, length);
+        departments.add(department);
+        return department;
+    }
+
+    /**
+     * This private helper method checks if a string matches the characters of the line at the given index.
+     * @param text the string to compare
+     * @param start the index in the line to compare the string with
+     * @return true if the characters match, false otherwise
+     */
+    private boolean isSameText(String text, int start) {
+        for (int i = 0; i < text.length(); i++) {
+            if (lineChars[start + i] != text.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * This private helper method parses a decimal number from a field.
+     * Plain numbers with at most nine digits and ten decimal places are parsed in place; these are exact in a
+     * float before the one division, so the result is the same as Float.parseFloat(). Any other number is
+     * passed to Float.parseFloat().
+     * @param start the index of the first character of the field
+     * @param end the index one past the last character of the field
+     * @return the number in the field
+     * @throws NumberFormatException if the field is not a number
+     */
+    private float parseFloat(int start, int end) {
+        int mantissa = 0;
+        int numDigits = 0;
+        int decimalPlaces = -1;
+        boolean isSimple = (end > start);
+        for (int i = start; i < end && isSimple; i++) {
+            char c = lineChars[i];
+            if (c >= '0' && c <= '9') {
+                mantissa = (mantissa * 10) + (c - '0');
+                numDigits++;
+                if (decimalPlaces >= 0) {
+                    decimalPlaces++;
+                }
+            }
+            else if (c == '.' && decimalPlaces < 0) {
+                decimalPlaces = 0;
+            }
+            else {
+                isSimple = false;
+            }
+        }
+        if (isSimple && numDigits > 0 && numDigits <= MAX_MANTISSA_DIGITS && mantissa <= MAX_EXACT_MANTISSA
+                && decimalPlaces < POWERS_OF_TEN.length) {
+            if (decimalPlaces <= 0) {
+                return (float) mantissa;
+            }
+            return (float) mantissa / POWERS_OF_TEN[decimalPlaces];
+        }
+        return Float.parseFloat(new String(lineChars, start, end - start));
+    }
+
+    /**
+     * This private helper method parses an integer from a field.
+     * @param start the index of the first character of the field
+     * @param end the index one past the last character of the field
+     * @return the integer in the field
+     * @throws NumberFormatException if the field is not an integer
+     */
+    private int parseInt(int start, int end) {
+        return Integer.parseInt(lineView, start, end, 10);
+    }
+
+    /**
+     * This getter method returns the number of lines read so far.
+     * @return lineNumber the number of lines read so far
+     */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * This getter method returns the number of bytes of the file that have been read as lines so far.
+     * @return the number of bytes read so far
+     */
+    public long getBytesRead() {
+        return length - remaining - readBuffer.remaining();
+    }
+
+    /**
+     * This getter method returns the number of bytes of the file to read in total.
+     * @return length the number of bytes to read
+     */
+    public long getLength() {
+        return length;
+    }
+
+    /**
+     * This method closes the file.
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -31,12 +31,13 @@ public class Fulltime extends Employee {
     }
 
     /**
-     * This method creates and returns a string representation of a Fulltime employee's attributes.
-     * @return string representation of a Fulltime employee's attributes
+     * This method appends the string representation of a Fulltime employee's attributes to a StringBuilder.
+     * @param statement the StringBuilder to append to
      */
     @Override
-    public String toString() {
-        return (super.toString() + "::FULL TIME::Annual Salary $" + DECIMAL_FORMATTER.format(this.salary));
+    public void appendStatement(StringBuilder statement) {
+        super.appendStatement(statement);
+        MoneyFormatter.append(statement.append("::FULL TIME::Annual Salary $"), this.salary);
     }
 
     /**
@@ -59,7 +60,24 @@ public class Fulltime extends Employee {
      */
     @Override
     public void calculatePayment() {
-        float payment = this.salary / NUM_PAY_PERIODS;
-        setPayment(payment);
+        setPayment(computePayment(this.salary));
+    }
+
+    /**
+     * This method computes the payment amount for a pay period of a Fulltime employee without setting it.
+     * @return the payment amount for a pay period
+     */
+    @Override
+    float computePayment() {
+        return computePayment(this.salary);
+    }
+
+    /**
+     * This method computes the payment amount for a pay period of a Fulltime employee.
+     * @param salary the annual salary of the employee
+     * @return the payment amount for a pay period
+     */
+    static float computePayment(float salary) {
+        return salary / NUM_PAY_PERIODS;
     }
 }
@@ -0,0 +1,139 @@
+package PayrollProcessingSystem;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+
+/**
+ * This class is one chunk of a database file for a parallel import.
+ * The file is split at line boundaries with splitAtLines(), and each chunk is parsed on its own worker by call(),
+ * which keeps the chunk's employees in file order so the chunks can be added to the company one after another.
+ * @author Kathleen Eife, Isha Vora
+ */
+class ImportChunk implements Callable<ImportChunk> {
+
+    private final File sourceFile;
+    private final long start;
+    private final long end;
+    private final ArrayList<Employee> employees;
+    private boolean isComplete; //true if every line of the chunk was parsed
+
+    private static final int SCAN_BUFFER_SIZE = 8192;
+
+    /**
+     * This constructor creates a chunk for the bytes of the file from start up to, not including, end.
+     * @param sourceFile the file to import
+     * @param start the position of the first byte of the chunk, which is the start of a line
+     * @param end the position one past the last byte of the chunk, which is the end of a line or of the file
+     */
+    ImportChunk(File sourceFile, long start, long end) {
+        this.sourceFile = sourceFile;
+        this.start = start;
+        this.end = end;
+        this.employees = new ArrayList<>();
+    }
+
+    /**
+     * This method parses the employees of the chunk, stopping at the first line that is not in the import format.
+     * @return this chunk
+     * @throws IOException if the file cannot be read
+     */
+    @Override
+    public ImportChunk call() throws IOException {
+        try (EmployeeFileReader reader = new EmployeeFileReader(sourceFile, start, end)) {
+            Employee employee = reader.next();
+            while (employee != null) {
+                employees.add(employee);
+                employee = reader.next();
+            }
+            isComplete = true;
+        }
+        catch (IllegalArgumentException badLine) {
+            isComplete = false;
+        }
+        return this;
+    }
+
+    /**
+     * This getter method returns the employees parsed from the chunk, in file order.
+     * @return employees the employees parsed from the chunk
+     */
+    ArrayList<Employee> getEmployees() {
+        return employees;
+    }
+
+    /**
+     * This method checks if every line of the chunk was parsed.
+     * @return true if every line was parsed, false if parsing stopped at a line not in the import format
+     */
+    boolean isComplete() {
+        return isComplete;
+    }
+
+    /**
+     * This method splits a file into about numChunks chunks of similar size that each start at the start of a line.
+     * @param sourceFile the file to split
+     * @param numChunks the number of chunks wanted
+     * @return the chunks of the file in file order
+     * @throws IOException if the file cannot be read
+     */
+    static ArrayList<ImportChunk> splitAtLines(File sourceFile, int numChunks) throws IOException {
+        ArrayList<ImportChunk> chunks = new ArrayList<>();
+        long fileLength = sourceFile.length();
+        long chunkSize = Math.max(1, fileLength / numChunks);
+        try (FileChannel channel = FileChannel.open(sourceFile.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer scanBuffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+            long chunkStart = 0;
+            while (chunkStart < fileLength) {
+                long chunkEnd = findLineStart(channel, scanBuffer, chunkStart + chunkSize, fileLength);
+                chunks.add(new ImportChunk(sourceFile, chunkStart, chunkEnd));
+                chunkStart = chunkEnd;
+            }
+        }
+        return chunks;
+    }
+
+    /**
+     * This private helper method finds the start of the first line that begins at or after a position.
+     * A line ending of "\r\n" is kept together so that it is never split between two chunks.
+     * @param channel the open file
+     * @param scanBuffer a buffer to read the file into
+     * @param position the position to start looking from
+     * @param fileLength the length of the file
+     * @return the position of the start of the line, or fileLength if there is no later line
+     * @throws IOException if the file cannot be read
+     */
+    private static long findLineStart(FileChannel channel, ByteBuffer scanBuffer, long position, long fileLength)
+            throws IOException {
+        if (position >= fileLength) {
+            return fileLength;
+        }
+        long scanPosition = position - 1; //the line ending may be the byte just before position
+        boolean afterCarriageReturn = false;
+        while (scanPosition < fileLength) {
+            scanBuffer.clear();
+            int numRead = channel.read(scanBuffer, scanPosition);
+            if (numRead <= 0) {
+                break;
+            }
+            for (int i = 0; i < numRead; i++) {
+                byte b = scanBuffer.get(i);
+                if (afterCarriageReturn) {
+                    return (b == '\n') ? scanPosition + i + 1 : scanPosition + i;
+                }
+                if (b == '\n') {
+                    return scanPosition + i + 1;
+                }
+                if (b == '\r') {
+                    afterCarriageReturn = true;
+                }
+            }
+            scanPosition += numRead;
+        }
+        return fileLength;
+    }
+}
@@ -12,18 +12,33 @@ import javafx.stage.Stage;
  */
 public class Main extends Application {
 
+    private Controller controller;
+
     /**
      * This method sets the stage for the GUI display.
      * @param primaryStage the GUI display stage
      */
     @Override
     public void start(Stage primaryStage) throws Exception {
-        Parent root = FXMLLoader.load(getClass().getResource("View.fxml"));
+        FXMLLoader loader = new FXMLLoader(getClass().getResource("View.fxml"));
+        Parent root = loader.load();
+        controller = loader.getController();
         primaryStage.setTitle("Payroll Processing System");
         primaryStage.setScene(new Scene(root, 800, 591));
         primaryStage.show();
     }
 
+    /**
+     * This method is called when the GUI display is closed, and saves the employee database before the program
+     * exits.
+     */
+    @Override
+    public void stop() {
+        if (controller != null) {
+            controller.shutdown();
+        }
+    }
+
     /**
      * This method serves as the main method and launches the program.
      * @param args command line arguments
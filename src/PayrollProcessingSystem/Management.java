@@ -13,9 +13,9 @@ public class Management extends Fulltime {
     private static final float MANAGER_ADDITIONAL_COMPENSATION = 5000f;
     private static final float DEPT_HEAD_ADDITIONAL_COMPENSATION = 9500f;
     private static final float DIRECTOR_ADDITIONAL_COMPENSATION = 12000f;
-    private static final int MANAGER_NUM = 1;
-    private static final int DEPT_HEAD_NUM = 2;
-    private static final int DIRECTOR_NUM = 3;
+    static final int MANAGER_NUM = 1;
+    static final int DEPT_HEAD_NUM = 2;
+    static final int DIRECTOR_NUM = 3;
 
     /**
      * This constructor takes in Profile, Fulltime, and Management employee attributes and creates a Management Employee.
@@ -39,22 +39,30 @@ public class Management extends Fulltime {
     }
 
     /**
-     * This method creates and returns a string representation of a Management employee's attributes.
-     * @return string representation of a Management employee's attributes
+     * This method appends the string representation of a Management employee's attributes to a StringBuilder.
+     * An employee with an unrecognized management code is written as "null".
+     * @param statement the StringBuilder to append to
      */
     @Override
-    public String toString() {
+    public void appendStatement(StringBuilder statement) {
+        int statementStart = statement.length();
         calculateAdditionalComp();
+        super.appendStatement(statement);
         if (managementCode == MANAGER_NUM) {
-            return (super.toString() + "::Manager Compensation $" + DECIMAL_FORMATTER.format(managementExtra));
+            statement.append("::Manager Compensation $");
         }
         else if (managementCode == DEPT_HEAD_NUM) {
-            return (super.toString() + "::DepartmentHead Compensation $" + DECIMAL_FORMATTER.format(managementExtra));
+            statement.append("::DepartmentHead Compensation $");
         }
         else if (managementCode == DIRECTOR_NUM) {
-            return (super.toString() + "::Director Compensation $" + DECIMAL_FORMATTER.format(managementExtra));
+            statement.append("::Director Compensation $");
         }
-        return null;
+        else {
+            statement.setLength(statementStart);
+            statement.append("null");
+            return;
+        }
+        MoneyFormatter.append(statement, managementExtra);
     }
 
     /**
@@ -76,15 +84,25 @@ public class Management extends Fulltime {
      * This method calculates a Management employee's additional compensation based on their management code.
      */
     private void calculateAdditionalComp() {
+        managementExtra = getAdditionalComp(managementCode);
+    }
+
+    /**
+     * This method returns the additional compensation for a pay period that goes with a management code.
+     * @param managementCode the code that determines which management role an employee holds
+     * @return the additional compensation for a pay period, or 0 if the management code is not recognized
+     */
+    static float getAdditionalComp(int managementCode) {
         if (managementCode == MANAGER_NUM) {
-            managementExtra = MANAGER_ADDITIONAL_COMPENSATION / NUM_PAY_PERIODS;
+            return MANAGER_ADDITIONAL_COMPENSATION / NUM_PAY_PERIODS;
         }
         else if (managementCode == DEPT_HEAD_NUM) {
-            managementExtra = DEPT_HEAD_ADDITIONAL_COMPENSATION / NUM_PAY_PERIODS;
+            return DEPT_HEAD_ADDITIONAL_COMPENSATION / NUM_PAY_PERIODS;
         }
         else if (managementCode == DIRECTOR_NUM) {
-            managementExtra = DIRECTOR_ADDITIONAL_COMPENSATION / NUM_PAY_PERIODS;
+            return DIRECTOR_ADDITIONAL_COMPENSATION / NUM_PAY_PERIODS;
         }
+        return 0f;
     }
 
     /**
@@ -93,9 +111,46 @@ public class Management extends Fulltime {
      */
     @Override
     public void calculatePayment() {
-        float payment = getSalary() / NUM_PAY_PERIODS;
         calculateAdditionalComp();
-        payment = payment + managementExtra;
-        setPayment(payment);
+        setPayment(computePayment(getSalary(), managementCode));
+    }
+
+    /**
+     * This method computes the payment amount for a pay period of a Management employee without setting it.
+     * @return the payment amount for a pay period
+     */
+    @Override
+    float computePayment() {
+        return computePayment(getSalary(), managementCode);
+    }
+
+    /**
+     * This method returns the annual additional compensation that goes with a management code, in cents.
+     * @param managementCode the code that determines which management role an employee holds
+     * @return the annual additional compensation in cents, or 0 if the management code is not recognized
+     */
+    static long getAnnualAdditionalCompCents(int managementCode) {
+        if (managementCode == MANAGER_NUM) {
+            return PayrollCents.toCents(MANAGER_ADDITIONAL_COMPENSATION);
+        }
+        else if (managementCode == DEPT_HEAD_NUM) {
+            return PayrollCents.toCents(DEPT_HEAD_ADDITIONAL_COMPENSATION);
+        }
+        else if (managementCode == DIRECTOR_NUM) {
+            return PayrollCents.toCents(DIRECTOR_ADDITIONAL_COMPENSATION);
+        }
+        return 0;
+    }
+
+    /**
+     * This method computes the payment amount for a pay period of a Management employee.
+     * @param salary the annual salary of the employee
+     * @param managementCode the code that determines which management role an employee holds
+     * @return the payment amount for a pay period
+     */
+    static float computePayment(float salary, int managementCode) {
+        float payment = salary / NUM_PAY_PERIODS;
+        payment = payment + getAdditionalComp(managementCode);
+        return payment;
     }
 }
@@ -0,0 +1,499 @@
+package PayrollProcessingSystem;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.zip.CRC32;
+
+/**
+ * This class is a standalone, read-only viewer of a snapshot file written by CompanySnapshot, served straight from
+ * the file's pages through FileChannel.map(). It is not connected to Company: a company is never loaded from it,
+ * and changes made to a company are not seen by it until a new snapshot is saved and opened.
+ * The file is mapped in segments of SEGMENT_SIZE bytes, so it is not limited to the 2 GB of a single mapping.
+ * Opening the roster only keeps the position of each record, a payment, and an entry of the profile index for
+ * each employee on the heap, so rosters far larger than the heap can be searched, printed, and paid. Employee
+ * objects are only created when get() or print() needs them.
+ * Usage: java PayrollProcessingSystem.MappedRoster snapshotFile [-pay]
+ * @author Kathleen Eife, Isha Vora
+ */
+public class MappedRoster implements Closeable {
+    private final FileChannel channel;
+    private final MappedByteBuffer[] segments; //segment i maps the file from i * segmentSize
+    private final int segmentSize;
+    private final long[] recordStarts; //position of each employee's record in the file
+    private final float[] payments; //payment of each employee, starting with the payment saved in the snapshot
+    private final int[] profileIndex; //slot + 1 of each employee by profile hash code, with linear probing
+    private final int indexMask;
+
+    private static final int SEGMENT_SIZE = 1 << 30;
+    private static final int SEGMENT_OVERLAP = Long.BYTES; //so that every value read lies inside one segment
+    private static final int MAX_EMPLOYEES = 1 << 28; //so that the profile index fits in an array
+    private static final int INDEX_LOAD_FACTOR = 2; //index entries per employee, at least
+    private static final int EMPTY_INDEX_ENTRY = 0;
+    private static final int HEADER_SIZE = 10; //magic number, version, and number of employees
+    private static final int CHECKSUM_SIZE = 8;
+    private static final int TYPE_SIZE = 1;
+    private static final int UTF_LENGTH_SIZE = 2;
+    private static final int DATE_SIZE = 4;
+    private static final int PAYMENT_SIZE = 4;
+    private static final int AMOUNT_SIZE = 4;
+    private static final int INT_FIELD_SIZE = 4;
+    private static final int NOT_FOUND_IN_ROSTER = -1;
+    private static final int HASH_MULTIPLIER = 31;
+    private static final int OUTPUT_BUFFER_SIZE = 1 << 16;
+    private static final String USAGE = "Usage: MappedRoster snapshotFile [-pay]";
+
+    /**
+     * This constructor maps a snapshot file, checks its header and checksum, and indexes its employees by profile.
+     * @param snapshotFile a file written by CompanySnapshot.save()
+     * @throws IOException if the file cannot be read, is not a snapshot of a supported version, holds more than
+     * MAX_EMPLOYEES employees, or is corrupt
+     */
+    public MappedRoster(File snapshotFile) throws IOException {
+        this(snapshotFile, SEGMENT_SIZE);
+    }
+
+    /**
+     * This constructor maps a snapshot file in segments of the given size, checks its header and checksum, and
+     * indexes its employees by profile.
+     * @param snapshotFile a file written by CompanySnapshot.save()
+     * @param segmentSize the number of bytes mapped by each segment, at least HEADER_SIZE
+     * @throws IOException if the file cannot be read, is not a snapshot of a supported version, holds more than
+     * MAX_EMPLOYEES employees, or is corrupt
+     */
+    MappedRoster(File snapshotFile, int segmentSize) throws IOException {
+        this.segmentSize = segmentSize;
+        channel = FileChannel.open(snapshotFile.toPath(), StandardOpenOption.READ);
+        try {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_SIZE + CHECKSUM_SIZE) {
+                throw new IOException("Not a company snapshot file.");
+            }
+            segments = new MappedByteBuffer[(int) ((fileSize + segmentSize - 1) / segmentSize)];
+            for (int i = 0; i < segments.length; i++) {
+                long segmentStart = (long) i * segmentSize;
+                long mappedSize = Math.min(segmentSize + SEGMENT_OVERLAP, fileSize - segmentStart);
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, segmentStart, mappedSize);
+            }
+            if (getInt(0) != CompanySnapshot.MAGIC_NUMBER) {
+                throw new IOException("Not a company snapshot file.");
+            }
+            short version = getShort(Integer.BYTES);
+            if (version != CompanySnapshot.FORMAT_VERSION) {
+                throw new IOException("Unsupported snapshot version " + version + ".");
+            }
+            int numEmployee = getInt(Integer.BYTES + Short.BYTES);
+            long checksumStart = fileSize - CHECKSUM_SIZE;
+            if (numEmployee < 0 || numEmployee > checksumStart) {
+                throw new IOException("Corrupt snapshot file.");
+            }
+            if (numEmployee > MAX_EMPLOYEES) {
+                throw new IOException("Snapshot has too many employees to map.");
+            }
+            recordStarts = new long[numEmployee];
+            payments = new float[numEmployee];
+            profileIndex = new int[Integer.highestOneBit(Math.max(numEmployee, 1)) * 2 * INDEX_LOAD_FACTOR];
+            indexMask = profileIndex.length - 1;
+            long position = HEADER_SIZE;
+            for (int i = 0; i < numEmployee; i++) {
+                if (position >= checksumStart) {
+                    throw new IOException("Corrupt snapshot file.");
+                }
+                recordStarts[i] = position;
+                payments[i] = getFloat(getDateStart(position) + DATE_SIZE);
+                addToIndex(i);
+                position = getRecordEnd(position);
+            }
+            if (position != checksumStart) {
+                throw new IOException("Corrupt snapshot file.");
+            }
+            CRC32 checksum = new CRC32();
+            for (int i = 0; i < segments.length && (long) i * segmentSize < checksumStart; i++) {
+                int checkedSize = (int) Math.min(segmentSize, checksumStart - (long) i * segmentSize);
+                checksum.update(segments[i].duplicate().position(0).limit(checkedSize));
+            }
+            if (getLong(checksumStart) != checksum.getValue()) {
+                throw new IOException("Snapshot checksum does not match.");
+            }
+        }
+        catch (IOException error) {
+            channel.close();
+            throw error;
+        }
+        catch (RuntimeException error) { //a record runs past the end of the file
+            channel.close();
+            throw new IOException("Corrupt snapshot file.", error);
+        }
+    }
+
+    /**
+     * This private helper method returns the segment that maps a position of the file.
+     * @param position the position in the file
+     * @return the segment holding the position
+     */
+    private MappedByteBuffer getSegment(long position) {
+        return segments[(int) (position / segmentSize)];
+    }
+
+    /**
+     * This private helper method returns where a position of the file lies in its segment.
+     * @param position the position in the file
+     * @return the position in the segment returned by getSegment()
+     */
+    private int getOffset(long position) {
+        return (int) (position % segmentSize);
+    }
+
+    /**
+     * This private helper method reads a byte of the file.
+     * @param position the position of the byte
+     * @return the byte
+     */
+    private byte getByte(long position) {
+        return getSegment(position).get(getOffset(position));
+    }
+
+    /**
+     * This private helper method reads a short of the file.
+     * @param position the position of the short
+     * @return the short
+     */
+    private short getShort(long position) {
+        return getSegment(position).getShort(getOffset(position));
+    }
+
+    /**
+     * This private helper method reads an int of the file.
+     * @param position the position of the int
+     * @return the int
+     */
+    private int getInt(long position) {
+        return getSegment(position).getInt(getOffset(position));
+    }
+
+    /**
+     * This private helper method reads a float of the file.
+     * @param position the position of the float
+     * @return the float
+     */
+    private float getFloat(long position) {
+        return getSegment(position).getFloat(getOffset(position));
+    }
+
+    /**
+     * This private helper method reads a long of the file.
+     * @param position the position of the long
+     * @return the long
+     */
+    private long getLong(long position) {
+        return getSegment(position).getLong(getOffset(position));
+    }
+
+    /**
+     * This private helper method returns the position of the date hired in a record.
+     * @param recordStart the position of the record
+     * @return the position of the date hired
+     */
+    private long getDateStart(long recordStart) {
+        long nameStart = recordStart + TYPE_SIZE;
+        long departmentStart = nameStart + UTF_LENGTH_SIZE + getUtfLength(nameStart);
+        return departmentStart + UTF_LENGTH_SIZE + getUtfLength(departmentStart);
+    }
+
+    /**
+     * This private helper method returns the position just past the end of a record.
+     * @param recordStart the position of the record
+     * @return the position of the next record
+     */
+    private long getRecordEnd(long recordStart) {
+        long fieldsStart = getDateStart(recordStart) + DATE_SIZE + PAYMENT_SIZE;
+        if (getByte(recordStart) == CompanySnapshot.FULLTIME) {
+            return fieldsStart + AMOUNT_SIZE;
+        }
+        return fieldsStart + AMOUNT_SIZE + INT_FIELD_SIZE;
+    }
+
+    /**
+     * This private helper method returns the byte length of a string written with DataOutput.writeUTF().
+     * @param position the position of the string's length prefix
+     * @return the number of bytes after the length prefix
+     */
+    private int getUtfLength(long position) {
+        return Short.toUnsignedInt(getShort(position));
+    }
+
+    /**
+     * This private helper method decodes one character of a string written with DataOutput.writeUTF().
+     * @param position the position of the character's first byte
+     * @return the character
+     */
+    private char getUtfChar(long position) {
+        int b = getByte(position) & 0xFF;
+        if (b < 0x80) {
+            return (char) b;
+        }
+        else if (b < 0xE0) {
+            return (char) (((b & 0x1F) << 6) | (getByte(position + 1) & 0x3F));
+        }
+        else {
+            return (char) (((b & 0x0F) << 12) | ((getByte(position + 1) & 0x3F) << 6)
+                    | (getByte(position + 2) & 0x3F));
+        }
+    }
+
+    /**
+     * This private helper method returns the number of bytes of a character written with DataOutput.writeUTF().
+     * @param position the position of the character's first byte
+     * @return 1, 2, or 3
+     */
+    private int getUtfCharSize(long position) {
+        int b = getByte(position) & 0xFF;
+        if (b < 0x80) {
+            return 1;
+        }
+        else if (b < 0xE0) {
+            return 2;
+        }
+        else {
+            return 3;
+        }
+    }
+
+    /**
+     * This private helper method decodes a string written with DataOutput.writeUTF().
+     * @param position the position of the string's length prefix
+     * @return the decoded string
+     */
+    private String readUtf(long position) {
+        long end = position + UTF_LENGTH_SIZE + getUtfLength(position);
+        StringBuilder text = new StringBuilder((int) (end - position));
+        for (long i = position + UTF_LENGTH_SIZE; i < end; i += getUtfCharSize(i)) {
+            text.append(getUtfChar(i));
+        }
+        return text.toString();
+    }
+
+    /**
+     * This private helper method computes the String.hashCode() of a string written with DataOutput.writeUTF(),
+     * without creating the string.
+     * @param position the position of the string's length prefix
+     * @return the hash code of the decoded string
+     */
+    private int hashUtf(long position) {
+        long end = position + UTF_LENGTH_SIZE + getUtfLength(position);
+        int hash = 0;
+        for (long i = position + UTF_LENGTH_SIZE; i < end; i += getUtfCharSize(i)) {
+            hash = HASH_MULTIPLIER * hash + getUtfChar(i);
+        }
+        return hash;
+    }
+
+    /**
+     * This private helper method computes the Profile.hashCode() of the employee in a record, straight from the
+     * mapped pages.
+     * @param recordStart the position of the record
+     * @return the hash code of the employee's profile
+     */
+    private int hashProfile(long recordStart) {
+        long nameStart = recordStart + TYPE_SIZE;
+        int hash = hashUtf(nameStart);
+        hash = HASH_MULTIPLIER * hash + hashUtf(nameStart + UTF_LENGTH_SIZE + getUtfLength(nameStart));
+        return HASH_MULTIPLIER * hash + getInt(getDateStart(recordStart));
+    }
+
+    /**
+     * This private helper method returns the first entry of the profile index to probe for a hash code.
+     * The high bits are spread into the low bits, as HashMap does, since the index only uses the low bits.
+     * @param hash the hash code of a profile
+     * @return the position in the profile index
+     */
+    private int getIndexStart(int hash) {
+        return (hash ^ (hash >>> 16)) & indexMask;
+    }
+
+    /**
+     * This private helper method adds an employee of the roster to the profile index.
+     * @param slot the position of the employee in the roster
+     */
+    private void addToIndex(int slot) {
+        int entry = getIndexStart(hashProfile(recordStarts[slot]));
+        while (profileIndex[entry] != EMPTY_INDEX_ENTRY) {
+            entry = (entry + 1) & indexMask;
+        }
+        profileIndex[entry] = slot + 1;
+    }
+
+    /**
+     * This getter method returns the number of employees in the roster.
+     * @return the number of employees in the roster
+     */
+    public int size() {
+        return recordStarts.length;
+    }
+
+    /**
+     * This method creates an employee object from a record of the roster.
+     * @param slot the position of the employee in the roster
+     * @return a Parttime, Fulltime, or Management employee with the attributes and current payment of the record
+     */
+    public Employee get(int slot) {
+        long recordStart = recordStarts[slot];
+        byte employeeType = getByte(recordStart);
+        long nameStart = recordStart + TYPE_SIZE;
+        String name = readUtf(nameStart);
+        String department = readUtf(nameStart + UTF_LENGTH_SIZE + getUtfLength(nameStart));
+        long dateStart = getDateStart(recordStart);
+        Date dateHired = new Date(getInt(dateStart));
+        long fieldsStart = dateStart + DATE_SIZE + PAYMENT_SIZE;
+        float amount = getFloat(fieldsStart);
+        Employee employee;
+        if (employeeType == CompanySnapshot.MANAGEMENT) {
+            employee = new Management(name, department, dateHired, amount, getInt(fieldsStart + AMOUNT_SIZE));
+        }
+        else if (employeeType == CompanySnapshot.FULLTIME) {
+            employee = new Fulltime(name, department, dateHired, amount);
+        }
+        else {
+            Parttime parttimeEmp = new Parttime(name, department, dateHired, amount);
+            parttimeEmp.setHoursWorked(getInt(fieldsStart + AMOUNT_SIZE));
+            employee = parttimeEmp;
+        }
+        employee.setPayment(payments[slot]);
+        return employee;
+    }
+
+    /**
+     * This method finds an employee in the roster by profile, through the profile index built when the roster
+     * was opened. Only the records whose profile has the same hash code are compared: the hire dates first,
+     * straight from the mapped pages, then the name and department.
+     * @param employee an employee object
+     * @return the position of the employee in the roster, or NOT_FOUND_IN_ROSTER (-1) if the employee is not in
+     * the roster
+     */
+    public int find(Employee employee) {
+        Profile empProfile = employee.getEmployeeProfile();
+        int packedDate = empProfile.getDateHired().getPackedDate();
+        for (int entry = getIndexStart(empProfile.hashCode()); profileIndex[entry] != EMPTY_INDEX_ENTRY;
+             entry = (entry + 1) & indexMask) {
+            int slot = profileIndex[entry] - 1;
+            long recordStart = recordStarts[slot];
+            if (getInt(getDateStart(recordStart)) == packedDate) {
+                long nameStart = recordStart + TYPE_SIZE;
+                if (readUtf(nameStart).equals(empProfile.getName()) && readUtf(nameStart + UTF_LENGTH_SIZE
+                        + getUtfLength(nameStart)).equals(empProfile.getDepartment())) {
+                    return slot;
+                }
+            }
+        }
+        return NOT_FOUND_IN_ROSTER;
+    }
+
+    /**
+     * This method processes the payments of all the employees in the roster straight from the mapped pages.
+     * The payments are kept in memory; the snapshot file is not changed.
+     */
+    public void processPayments() {
+        for (int slot = 0; slot < recordStarts.length; slot++) {
+            long recordStart = recordStarts[slot];
+            byte employeeType = getByte(recordStart);
+            long fieldsStart = getDateStart(recordStart) + DATE_SIZE + PAYMENT_SIZE;
+            float amount = getFloat(fieldsStart);
+            if (employeeType == CompanySnapshot.MANAGEMENT) {
+                payments[slot] = Management.computePayment(amount, getInt(fieldsStart + AMOUNT_SIZE));
+            }
+            else if (employeeType == CompanySnapshot.FULLTIME) {
+                payments[slot] = Fulltime.computePayment(amount);
+            }
+            else {
+                payments[slot] = Parttime.computePayment(getInt(fieldsStart + AMOUNT_SIZE), amount);
+            }
+        }
+    }
+
+    /**
+     * This getter method returns the current payment of an employee in the roster.
+     * @param slot the position of the employee in the roster
+     * @return the payment amount of the employee for a pay period
+     */
+    public float getPayment(int slot) {
+        return payments[slot];
+    }
+
+    /**
+     * This private helper method returns the employees of the roster in the order of the snapshot, creating one
+     * employee object at a time.
+     * @return the employees of the roster
+     */
+    private Iterable<Employee> getEmployees() {
+        return () -> new Iterator<Employee>() {
+            private int slot;
+
+            @Override
+            public boolean hasNext() {
+                return slot < recordStarts.length;
+            }
+
+            @Override
+            public Employee next() {
+                if (slot >= recordStarts.length) {
+                    throw new NoSuchElementException();
+                }
+                return get(slot++);
+            }
+        };
+    }
+
+    /**
+     * This method writes the earning statements for all employees in the roster to an Appendable, in the same
+     * form as Company.print(), creating one employee object at a time.
+     * @param out the Appendable to write to, such as a Writer or a StringBuilder
+     * @throws IOException if the statements cannot be written
+     */
+    public void print(Appendable out) throws IOException {
+        Company.printStatements(out, Company.PRINT_HEADER, getEmployees(), recordStarts.length, null);
+    }
+
+    /**
+     * This method closes the snapshot file.
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * This method prints the earning statements of a snapshot file to the standard output without loading it into
+     * a company, after processing the payments if -pay is given.
+     * @param args the options described in the class comment
+     */
+    public static void main(String[] args) {
+        if (args.length < 1 || args.length > 2 || (args.length == 2 && !args[1].equals("-pay"))) {
+            System.err.println(USAGE);
+            System.exit(PayrollRunner.EXIT_USAGE);
+        }
+        try (MappedRoster roster = new MappedRoster(new File(args[0]))) {
+            if (args.length == 2) {
+                roster.processPayments();
+            }
+            Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(FileDescriptor.out)),
+                    OUTPUT_BUFFER_SIZE);
+            roster.print(out);
+            out.flush();
+        }
+        catch (IOException error) {
+            System.err.println("Snapshot could not be printed: " + error.getMessage());
+            System.exit(PayrollRunner.EXIT_FAILURE);
+        }
+    }
+}
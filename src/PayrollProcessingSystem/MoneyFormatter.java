@@ -0,0 +1,204 @@
+package PayrollProcessingSystem;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.DecimalFormatSymbols;
+
+/**
+ * This class formats money amounts in the "###,##0.00" pattern straight into a caller's StringBuilder.
+ * The output is the same as a java.text.DecimalFormat with that pattern in the default locale: amounts are rounded
+ * to the cent with halves rounded to even, and the grouping separator, decimal separator, and minus sign of the
+ * default locale are used.
+ * Unlike DecimalFormat, the formatter keeps no state between calls, so it can be used by many threads at once,
+ * and it does not create any objects for amounts below MAX_EXACT_DOLLARS.
+ * @author Kathleen Eife, Isha Vora
+ */
+public final class MoneyFormatter {
+
+    private static final DecimalFormatSymbols SYMBOLS = DecimalFormatSymbols.getInstance();
+    private static final char GROUPING_SEPARATOR = SYMBOLS.getGroupingSeparator();
+    private static final char DECIMAL_SEPARATOR = SYMBOLS.getDecimalSeparator();
+    private static final char MINUS_SIGN = SYMBOLS.getMinusSign();
+    private static final String NAN = SYMBOLS.getNaN();
+    private static final String INFINITY = SYMBOLS.getInfinity();
+
+    private static final int GROUPING_SIZE = 3;
+    private static final int CENTS_PER_DOLLAR = 100;
+    private static final BigDecimal HALF_CENT = new BigDecimal("0.005");
+    private static final double MAX_EXACT_DOLLARS = 1e13; //amount * 100 stays well below 2^52
+    private static final long[] POWERS_OF_TEN = {1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L, 10000000L,
+            100000000L, 1000000000L, 10000000000L, 100000000000L, 1000000000000L, 10000000000000L,
+            100000000000000L, 1000000000000000L, 10000000000000000L, 100000000000000000L,
+            1000000000000000000L};
+
+    /**
+     * This constructor is private because the class only has static methods.
+     */
+    private MoneyFormatter() {
+    }
+
+    /**
+     * This method formats a money amount and appends it to a StringBuilder.
+     * @param out the StringBuilder to append to
+     * @param amount the amount in dollars
+     * @return out, so that calls can be chained
+     */
+    public static StringBuilder append(StringBuilder out, double amount) {
+        if (Double.isNaN(amount)) {
+            return out.append(NAN);
+        }
+        boolean isNegative = (Double.doubleToRawLongBits(amount) < 0); //DecimalFormat also keeps the sign of -0
+        double magnitude = Math.abs(amount);
+        if (isNegative) {
+            out.append(MINUS_SIGN);
+        }
+        if (Double.isInfinite(magnitude)) {
+            return out.append(INFINITY);
+        }
+        if (magnitude >= MAX_EXACT_DOLLARS) {
+            return appendLarge(out, magnitude);
+        }
+        return appendMagnitude(out, roundToCents(magnitude));
+    }
+
+    /**
+     * This method formats a money amount in cents and appends it to a StringBuilder.
+     * @param out the StringBuilder to append to
+     * @param cents the amount in cents
+     * @return out, so that calls can be chained
+     */
+    public static StringBuilder appendCents(StringBuilder out, long cents) {
+        if (cents < 0) {
+            out.append(MINUS_SIGN);
+            if (cents == Long.MIN_VALUE) {
+                return appendLarge(out, BigDecimal.valueOf(cents).negate().movePointLeft(2));
+            }
+            cents = -cents;
+        }
+        return appendMagnitude(out, cents);
+    }
+
+    /**
+     * This method appends a money amount for other programs to read, such as in JSON: rounded to the cent in the
+     * same way as append(), so it shows the same cent as the statements, but without grouping separators and with
+     * '.' as the decimal separator and '-' as the minus sign whatever the default locale.
+     * @param out the StringBuilder to append to
+     * @param amount the amount in dollars
+     * @return out, so that calls can be chained
+     * @throws IllegalArgumentException if the amount is NaN or infinite
+     */
+    public static StringBuilder appendPlain(StringBuilder out, double amount) {
+        if (Double.isNaN(amount) || Double.isInfinite(amount)) {
+            throw new IllegalArgumentException("Amount is not a number: " + amount);
+        }
+        double magnitude = Math.abs(amount);
+        if (magnitude >= MAX_EXACT_DOLLARS) {
+            return out.append((amount < 0) ? "-" : "").append(roundLarge(magnitude).toPlainString());
+        }
+        long cents = roundToCents(magnitude);
+        if (amount < 0 && cents > 0) { //an amount that rounds to zero is written without a sign
+            out.append('-');
+        }
+        int centDigits = (int) (cents % CENTS_PER_DOLLAR);
+        return out.append(cents / CENTS_PER_DOLLAR).append('.').append((char) ('0' + centDigits / 10))
+                .append((char) ('0' + centDigits % 10));
+    }
+
+    /**
+     * This method formats a money amount into a new String.
+     * @param amount the amount in dollars
+     * @return the formatted amount
+     */
+    public static String format(double amount) {
+        return append(new StringBuilder(), amount).toString();
+    }
+
+    /**
+     * This private helper method rounds a non-negative amount to whole cents with halves rounded to even.
+     * amount * 100 is rounded to a double, and Math.fma() gives the exact error of that rounding, which decides
+     * the cases where the rounded product is exactly halfway between two cents.
+     * @param magnitude a non-negative amount below MAX_EXACT_DOLLARS
+     * @return the amount in cents
+     */
+    private static long roundToCents(double magnitude) {
+        double product = magnitude * CENTS_PER_DOLLAR;
+        double error = Math.fma(magnitude, CENTS_PER_DOLLAR, -product); //exact value is product + error
+        double cents = Math.rint(product); //halves of the rounded product go to even
+        double fraction = product - cents;
+        if (fraction == 0.5 && error > 0) {
+            cents++;
+        }
+        else if (fraction == -0.5 && error < 0) {
+            cents--;
+        }
+        return (long) cents;
+    }
+
+    /**
+     * This private helper method appends a non-negative amount in cents with grouped dollars.
+     * @param out the StringBuilder to append to
+     * @param cents a non-negative amount in cents
+     * @return out
+     */
+    private static StringBuilder appendMagnitude(StringBuilder out, long cents) {
+        long dollars = cents / CENTS_PER_DOLLAR;
+        int centDigits = (int) (cents % CENTS_PER_DOLLAR);
+        int numDigits = 1;
+        while (numDigits < POWERS_OF_TEN.length && dollars >= POWERS_OF_TEN[numDigits]) {
+            numDigits++;
+        }
+        for (int digit = numDigits - 1; digit >= 0; digit--) {
+            out.append((char) ('0' + (dollars / POWERS_OF_TEN[digit]) % 10));
+            if (digit > 0 && digit % GROUPING_SIZE == 0) {
+                out.append(GROUPING_SEPARATOR);
+            }
+        }
+        return out.append(DECIMAL_SEPARATOR).append((char) ('0' + centDigits / 10))
+                .append((char) ('0' + centDigits % 10));
+    }
+
+    /**
+     * This private helper method appends a non-negative amount too large to round exactly in a double.
+     * @param out the StringBuilder to append to
+     * @param magnitude a finite non-negative amount
+     * @return out
+     */
+    private static StringBuilder appendLarge(StringBuilder out, double magnitude) {
+        return appendLarge(out, roundLarge(magnitude));
+    }
+
+    /**
+     * This private helper method rounds a non-negative amount that is too large to round exactly in a double to
+     * whole cents, with halves rounded to even. Like DecimalFormat, it rounds the shortest decimal digits that
+     * identify the amount, and only uses the exact value of the amount when those digits are halfway between two
+     * cents.
+     * @param magnitude a finite non-negative amount
+     * @return the amount rounded to two decimal places
+     */
+    private static BigDecimal roundLarge(double magnitude) {
+        BigDecimal shortest = BigDecimal.valueOf(magnitude);
+        if (shortest.subtract(shortest.setScale(2, RoundingMode.DOWN)).compareTo(HALF_CENT) == 0) {
+            shortest = new BigDecimal(magnitude);
+        }
+        return shortest.setScale(2, RoundingMode.HALF_EVEN);
+    }
+
+    /**
+     * This private helper method appends a non-negative amount with grouped dollars using BigDecimal.
+     * @param out the StringBuilder to append to
+     * @param magnitude a non-negative amount
+     * @return out
+     */
+    private static StringBuilder appendLarge(StringBuilder out, BigDecimal magnitude) {
+        String digits = magnitude.setScale(2, RoundingMode.HALF_EVEN).toPlainString();
+        int pointIndex = digits.length() - 3;
+        for (int i = 0; i < pointIndex; i++) {
+            out.append(digits.charAt(i));
+            int remaining = pointIndex - i - 1;
+            if (remaining > 0 && remaining % GROUPING_SIZE == 0) {
+                out.append(GROUPING_SEPARATOR);
+            }
+        }
+        return out.append(DECIMAL_SEPARATOR).append(digits, pointIndex + 1, digits.length());
+    }
+}
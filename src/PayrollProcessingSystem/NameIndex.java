@@ -0,0 +1,349 @@
+package PayrollProcessingSystem;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * This class is a search index over the names of employees, for finding employees as their name is typed.
+ * Names are case-folded and kept in a radix tree (a trie where each edge holds a run of characters), so finding the
+ * employees whose name starts with a prefix takes O(length of the prefix) before the matches are collected, however
+ * many employees there are. Similar names are found by walking the tree with one row of the edit distance table per
+ * character, skipping every branch that is already too far from the query, so a typing mistake still finds the
+ * employee.
+ * Employees with the same name are kept in the order they were added.
+ * @author Kathleen Eife, Isha Vora
+ */
+public class NameIndex {
+    private final Node root = new Node("");
+    private int numEmployee;
+
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final Employee[] NO_EMPLOYEES = new Employee[0];
+
+    /**
+     * This class is a node of the radix tree: the characters on the edge into the node, its children in order of
+     * their first character, and the employees whose whole folded name ends at the node.
+     */
+    private static final class Node {
+        private String label;
+        private Node[] children = NO_CHILDREN;
+        private Employee[] employees = NO_EMPLOYEES;
+
+        /**
+         * This constructor creates a node with no children and no employees.
+         * @param label the characters on the edge into the node
+         */
+        Node(String label) {
+            this.label = label;
+        }
+
+        /**
+         * This method finds the child whose label starts with a character.
+         * @param c the first character of the label
+         * @return the index of the child, or -(insertion point) - 1 if there is no such child
+         */
+        int findChild(char c) {
+            int low = 0;
+            int high = children.length - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                char middleChar = children[middle].label.charAt(0);
+                if (middleChar < c) {
+                    low = middle + 1;
+                }
+                else if (middleChar > c) {
+                    high = middle - 1;
+                }
+                else {
+                    return middle;
+                }
+            }
+            return -(low + 1);
+        }
+
+        /**
+         * This method merges the only child of a node that has no employees into the node.
+         */
+        void mergeOnlyChild() {
+            Node child = children[0];
+            label = label + child.label;
+            children = child.children;
+            employees = child.employees;
+        }
+    }
+
+    /**
+     * This method folds the case of a name, so that names that differ only in case are found by the same search.
+     * @param name a name
+     * @return the folded name, with the same length as the name
+     */
+    static String fold(String name) {
+        char[] folded = new char[name.length()];
+        for (int i = 0; i < folded.length; i++) {
+            folded[i] = Character.toLowerCase(Character.toUpperCase(name.charAt(i)));
+        }
+        return new String(folded);
+    }
+
+    /**
+     * This getter method returns the number of employees in the index.
+     * @return numEmployee the number of employees in the index
+     */
+    public int getNumEmployee() {
+        return numEmployee;
+    }
+
+    /**
+     * This method adds an employee to the index under its name.
+     * @param employee an employee that is not in the index
+     */
+    public void add(Employee employee) {
+        String key = fold(employee.getEmployeeProfile().getName());
+        Node node = root;
+        int position = 0;
+        while (position < key.length()) {
+            int childIndex = node.findChild(key.charAt(position));
+            if (childIndex < 0) {
+                Node leaf = new Node(key.substring(position));
+                leaf.employees = new Employee[] {employee};
+                node.children = insertAt(node.children, -childIndex - 1, leaf);
+                numEmployee++;
+                return;
+            }
+            Node child = node.children[childIndex];
+            int common = commonPrefixLength(child.label, key, position);
+            if (common < child.label.length()) { //split the edge where the name leaves it
+                Node middle = new Node(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                middle.children = new Node[] {child};
+                node.children[childIndex] = middle;
+                child = middle;
+            }
+            node = child;
+            position += common;
+        }
+        node.employees = insertAt(node.employees, node.employees.length, employee);
+        numEmployee++;
+    }
+
+    /**
+     * This method removes an employee from the index.
+     * @param employee an employee in the index
+     * @return true if the employee was removed, false if it was not in the index
+     */
+    public boolean remove(Employee employee) {
+        String key = fold(employee.getEmployeeProfile().getName());
+        Node parent = null;
+        Node node = root;
+        int position = 0;
+        while (position < key.length()) {
+            int childIndex = node.findChild(key.charAt(position));
+            if (childIndex < 0) {
+                return false;
+            }
+            Node child = node.children[childIndex];
+            if (!key.startsWith(child.label, position)) {
+                return false;
+            }
+            parent = node;
+            node = child;
+            position += child.label.length();
+        }
+        int employeeIndex = -1;
+        for (int i = 0; i < node.employees.length && employeeIndex < 0; i++) {
+            if (node.employees[i] == employee) {
+                employeeIndex = i;
+            }
+        }
+        if (employeeIndex < 0) {
+            return false;
+        }
+        node.employees = removeAt(node.employees, employeeIndex);
+        numEmployee--;
+        if (node != root && node.employees.length == 0) { //keep every node either holding employees or branching
+            if (node.children.length == 0) {
+                parent.children = removeAt(parent.children, parent.findChild(node.label.charAt(0)));
+                if (parent != root && parent.employees.length == 0 && parent.children.length == 1) {
+                    parent.mergeOnlyChild();
+                }
+            }
+            else if (node.children.length == 1) {
+                node.mergeOnlyChild();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * This method finds the employees whose name starts with a prefix, ignoring case.
+     * @param prefix the start of the name
+     * @param limit the largest number of employees to return
+     * @return up to limit employees, in the order of their folded names
+     */
+    public List<Employee> findByPrefix(String prefix, int limit) {
+        ArrayList<Employee> matches = new ArrayList<>();
+        String key = fold(prefix);
+        Node node = root;
+        int position = 0;
+        while (position < key.length()) {
+            int childIndex = node.findChild(key.charAt(position));
+            if (childIndex < 0) {
+                return matches;
+            }
+            Node child = node.children[childIndex];
+            int common = commonPrefixLength(child.label, key, position);
+            if (position + common < key.length() && common < child.label.length()) {
+                return matches; //the prefix leaves the tree in the middle of the edge
+            }
+            node = child;
+            position += common;
+        }
+        collect(node, matches, limit, null);
+        return matches;
+    }
+
+    /**
+     * This method finds the employees whose name starts with a prefix within a number of typing mistakes of the
+     * query, ignoring case. A mistake is a character added, left out, or typed in place of another.
+     * The employees found with fewer mistakes come first, starting with the exact matches of findByPrefix().
+     * @param query the start of the name, as typed
+     * @param maxEdits the largest number of mistakes
+     * @param limit the largest number of employees to return
+     * @return up to limit employees, by number of mistakes and then in the order of their folded names
+     */
+    public List<Employee> findSimilar(String query, int maxEdits, int limit) {
+        List<Employee> matches = findByPrefix(query, limit);
+        if (matches.size() >= limit || maxEdits < 1) {
+            return matches;
+        }
+        Set<Employee> found = Collections.newSetFromMap(new IdentityHashMap<>());
+        found.addAll(matches);
+        String key = fold(query);
+        int[] firstRow = new int[key.length() + 1];
+        for (int j = 0; j < firstRow.length; j++) {
+            firstRow[j] = j;
+        }
+        for (int edits = 1; edits <= maxEdits && matches.size() < limit; edits++) {
+            for (Node child : root.children) {
+                if (matches.size() >= limit) {
+                    break;
+                }
+                searchSimilar(child, key, firstRow, edits, matches, limit, found);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * This private helper method searches a subtree for names that start within a number of mistakes of the
+     * query, extending the edit distance table by one row for each character on the way down.
+     * @param node the root of the subtree
+     * @param key the folded query
+     * @param previousRow the row of the edit distance table for the characters above the subtree
+     * @param maxEdits the largest number of mistakes
+     * @param matches the list to add the employees found to
+     * @param limit the largest number of employees in matches
+     * @param found the employees already in matches
+     */
+    private static void searchSimilar(Node node, String key, int[] previousRow, int maxEdits, List<Employee> matches,
+                                      int limit, Set<Employee> found) {
+        int[] row = previousRow;
+        for (int i = 0; i < node.label.length(); i++) {
+            char c = node.label.charAt(i);
+            int[] nextRow = new int[row.length];
+            nextRow[0] = row[0] + 1;
+            int rowMin = nextRow[0];
+            for (int j = 1; j < row.length; j++) {
+                int substitute = row[j - 1] + ((key.charAt(j - 1) == c) ? 0 : 1);
+                nextRow[j] = Math.min(substitute, Math.min(row[j], nextRow[j - 1]) + 1);
+                rowMin = Math.min(rowMin, nextRow[j]);
+            }
+            if (nextRow[key.length()] <= maxEdits) { //every name below starts with a close enough prefix
+                collect(node, matches, limit, found);
+                return;
+            }
+            if (rowMin > maxEdits) { //every name below is too far from the query
+                return;
+            }
+            row = nextRow;
+        }
+        for (Node child : node.children) {
+            if (matches.size() >= limit) {
+                return;
+            }
+            searchSimilar(child, key, row, maxEdits, matches, limit, found);
+        }
+    }
+
+    /**
+     * This private helper method adds the employees of a subtree to a list, in the order of their folded names.
+     * @param node the root of the subtree
+     * @param matches the list to add the employees to
+     * @param limit the largest number of employees in matches
+     * @param found the employees already in matches, which are not added again, or null to add every employee
+     */
+    private static void collect(Node node, List<Employee> matches, int limit, Set<Employee> found) {
+        for (Employee employee : node.employees) {
+            if (matches.size() >= limit) {
+                return;
+            }
+            if (found == null || found.add(employee)) {
+                matches.add(employee);
+            }
+        }
+        for (Node child : node.children) {
+            if (matches.size() >= limit) {
+                return;
+            }
+            collect(child, matches, limit, found);
+        }
+    }
+
+    /**
+     * This private helper method returns the length of the common start of a label and the rest of a key.
+     * @param label the label of an edge
+     * @param key the key
+     * @param position the position in the key to compare from
+     * @return the number of characters the label and the key have in common
+     */
+    private static int commonPrefixLength(String label, String key, int position) {
+        int length = Math.min(label.length(), key.length() - position);
+        int common = 0;
+        while (common < length && label.charAt(common) == key.charAt(position + common)) {
+            common++;
+        }
+        return common;
+    }
+
+    /**
+     * This private helper method returns a copy of an array with an element inserted.
+     * @param array the array
+     * @param index the index to insert at
+     * @param element the element to insert
+     * @param <T> the type of the elements
+     * @return the new array
+     */
+    private static <T> T[] insertAt(T[] array, int index, T element) {
+        T[] newArray = Arrays.copyOf(array, array.length + 1);
+        System.arraycopy(array, index, newArray, index + 1, array.length - index);
+        newArray[index] = element;
+        return newArray;
+    }
+
+    /**
+     * This private helper method returns a copy of an array with an element removed.
+     * @param array the array
+     * @param index the index of the element to remove
+     * @param <T> the type of the elements
+     * @return the new array
+     */
+    private static <T> T[] removeAt(T[] array, int index) {
+        T[] newArray = Arrays.copyOf(array, array.length - 1);
+        System.arraycopy(array, index + 1, newArray, index, array.length - index - 1);
+        return newArray;
+    }
+}
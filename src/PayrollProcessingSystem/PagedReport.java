@@ -0,0 +1,243 @@
+package PayrollProcessingSystem;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class keeps a long report, such as the earning statements of a large company, in a temporary file and
+ * reads it back one page of lines at a time.
+ * The report is written through append(), which records where each page starts in the file, so that any page can
+ * be read without reading the pages before it. Only the page positions are kept in memory.
+ * @author Kathleen Eife, Isha Vora
+ */
+public class PagedReport implements Appendable, Closeable {
+    private final File reportFile;
+    private final int pageSize;
+    private Writer writer; //null once the report is finished
+    private long[] pageStarts; //byte position of the first line of each page
+    private int numPages;
+    private long numLines;
+    private long bytePosition;
+    private boolean isAtLineStart;
+
+    public static final int DEFAULT_PAGE_SIZE = 1000;
+
+    private static final int INITIAL_NUM_PAGES = 16;
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+    private static final String REPORT_FILE_PREFIX = "payroll-report";
+    private static final String REPORT_FILE_SUFFIX = ".txt";
+    private static final long STALE_REPORT_MILLIS = 24L * 60 * 60 * 1000;
+
+    /**
+     * This default constructor creates an empty report with DEFAULT_PAGE_SIZE lines per page.
+     * @throws IOException if the temporary file cannot be created
+     */
+    public PagedReport() throws IOException {
+        this(DEFAULT_PAGE_SIZE);
+    }
+
+    /**
+     * This constructor creates an empty report.
+     * @param pageSize the number of lines per page
+     * @throws IOException if the temporary file cannot be created
+     */
+    public PagedReport(int pageSize) throws IOException {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be positive.");
+        }
+        this.pageSize = pageSize;
+        reportFile = File.createTempFile(REPORT_FILE_PREFIX, REPORT_FILE_SUFFIX);
+        writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(reportFile), StandardCharsets.UTF_8),
+                WRITE_BUFFER_SIZE);
+        pageStarts = new long[INITIAL_NUM_PAGES];
+        isAtLineStart = true;
+    }
+
+    /**
+     * This method deletes the temporary files of reports that were not closed because the program that wrote them
+     * stopped without exiting normally. Only files older than a day are deleted, so that the reports of a program
+     * that is still running are kept.
+     * @return the number of files deleted
+     */
+    public static int deleteStaleReports() {
+        File[] reportFiles = new File(System.getProperty("java.io.tmpdir")).listFiles((directory, name) ->
+                name.startsWith(REPORT_FILE_PREFIX) && name.endsWith(REPORT_FILE_SUFFIX));
+        if (reportFiles == null) {
+            return 0;
+        }
+        long staleTime = System.currentTimeMillis() - STALE_REPORT_MILLIS;
+        int numDeleted = 0;
+        for (File reportFile : reportFiles) {
+            if (reportFile.isFile() && reportFile.lastModified() < staleTime && reportFile.delete()) {
+                numDeleted++;
+            }
+        }
+        return numDeleted;
+    }
+
+    /**
+     * This method appends text to the report.
+     * @param text the text to append
+     * @return this report
+     * @throws IOException if the text cannot be written
+     */
+    @Override
+    public Appendable append(CharSequence text) throws IOException {
+        return append(text, 0, text.length());
+    }
+
+    /**
+     * This method appends part of a text to the report.
+     * @param text the text to append
+     * @param start the index of the first character to append
+     * @param end the index one past the last character to append
+     * @return this report
+     * @throws IOException if the text cannot be written
+     */
+    @Override
+    public Appendable append(CharSequence text, int start, int end) throws IOException {
+        if (writer == null) {
+            throw new IOException("Report is already finished.");
+        }
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (isAtLineStart) {
+                if (numLines % pageSize == 0) {
+                    startPage();
+                }
+                isAtLineStart = false;
+            }
+            if (c < 0x80) {
+                bytePosition++;
+            }
+            else if (c < 0x800 || Character.isSurrogate(c)) { //a surrogate pair is 4 bytes, counted as 2 and 2
+                bytePosition += 2;
+            }
+            else {
+                bytePosition += 3;
+            }
+            if (c == '\n') {
+                numLines++;
+                isAtLineStart = true;
+            }
+        }
+        writer.append(text, start, end);
+        return this;
+    }
+
+    /**
+     * This method appends a character to the report.
+     * @param c the character to append
+     * @return this report
+     * @throws IOException if the character cannot be written
+     */
+    @Override
+    public Appendable append(char c) throws IOException {
+        return append(String.valueOf(c));
+    }
+
+    /**
+     * This private helper method records the start of a new page at the current position.
+     */
+    private void startPage() {
+        if (numPages == pageStarts.length) {
+            pageStarts = Arrays.copyOf(pageStarts, numPages * 2);
+        }
+        pageStarts[numPages] = bytePosition;
+        numPages++;
+    }
+
+    /**
+     * This method finishes writing the report, so that its pages can be read.
+     * @throws IOException if the report cannot be written
+     */
+    public void finish() throws IOException {
+        if (writer != null) {
+            if (!isAtLineStart) { //count a last line without a line break
+                numLines++;
+                isAtLineStart = true;
+            }
+            writer.close();
+            writer = null;
+        }
+    }
+
+    /**
+     * This getter method returns the number of lines in the report.
+     * @return numLines the number of lines in the report
+     */
+    public long getNumLines() {
+        return numLines;
+    }
+
+    /**
+     * This getter method returns the number of pages in the report.
+     * @return numPages the number of pages in the report
+     */
+    public int getNumPages() {
+        return numPages;
+    }
+
+    /**
+     * This getter method returns the number of lines per page.
+     * @return pageSize the number of lines per page
+     */
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * This method reads a page of the finished report.
+     * @param page the index of the page, where 0 is the first page
+     * @return the lines of the page, without line breaks
+     * @throws IOException if the report cannot be read
+     */
+    public List<String> readPage(int page) throws IOException {
+        if (writer != null) {
+            throw new IOException("Report is not finished.");
+        }
+        if (page < 0 || page >= numPages) {
+            throw new IndexOutOfBoundsException("Page " + page + " out of bounds for " + numPages + " pages.");
+        }
+        ArrayList<String> lines = new ArrayList<>(pageSize);
+        try (FileInputStream input = new FileInputStream(reportFile)) {
+            input.getChannel().position(pageStarts[page]);
+            BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+            String line = reader.readLine();
+            while (line != null && lines.size() < pageSize) {
+                lines.add(line);
+                line = reader.readLine();
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * This method closes the report and deletes its temporary file.
+     * @throws IOException if the report cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (writer != null) {
+                writer.close();
+                writer = null;
+            }
+        }
+        finally {
+            reportFile.delete();
+        }
+    }
+}
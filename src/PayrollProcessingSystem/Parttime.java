@@ -9,7 +9,7 @@ public class Parttime extends Employee {
     private int hoursWorked;
     private float hourlyPayRate;
 
-    private static final int NORMAL_HOURS = 80;
+    static final int NORMAL_HOURS = 80;
     private static final float OVERTIME_PAY_RATE_MULTIPLE = 1.5f;
 
     /**
@@ -54,6 +54,14 @@ public class Parttime extends Employee {
         return this.hourlyPayRate;
     }
 
+    /**
+     * This getter method returns the hours a Parttime employee has worked past the normal hours in a pay period.
+     * @return the overtime hours, or 0 if the employee has not worked past the normal hours
+     */
+    public int getOvertimeHours() {
+        return Math.max(0, hoursWorked - NORMAL_HOURS);
+    }
+
     /**
      * This setter method sets the hours a Parttime employee has worked in a pay period.
      * @param hoursWorked the hours a Parttime employee has worked in a pay period
@@ -63,13 +71,14 @@ public class Parttime extends Employee {
     }
 
     /**
-     * This method creates and returns a string representation of a Parttime employee's attributes.
-     * @return string representation of a Parttime employee's attributes
+     * This method appends the string representation of a Parttime employee's attributes to a StringBuilder.
+     * @param statement the StringBuilder to append to
      */
     @Override
-    public String toString() {
-        return (super.toString() + "::PART TIME::Hourly Rate $" + DECIMAL_FORMATTER.format(hourlyPayRate)
-                 + "::Hours worked this period: " + hoursWorked);
+    public void appendStatement(StringBuilder statement) {
+        super.appendStatement(statement);
+        MoneyFormatter.append(statement.append("::PART TIME::Hourly Rate $"), hourlyPayRate)
+                .append("::Hours worked this period: ").append(hoursWorked);
     }
 
     /**
@@ -92,6 +101,26 @@ public class Parttime extends Employee {
      * */
     @Override
     public void calculatePayment() {
+        setPayment(computePayment(hoursWorked, hourlyPayRate));
+    }
+
+    /**
+     * This method computes the payment amount for a pay period of a Parttime employee without setting it.
+     * @return the payment amount for a pay period
+     */
+    @Override
+    float computePayment() {
+        return computePayment(hoursWorked, hourlyPayRate);
+    }
+
+    /**
+     * This method computes the payment amount for a pay period of a Parttime employee, paying overtime for the
+     * hours worked past the normal hours.
+     * @param hoursWorked the hours worked in the pay period
+     * @param hourlyPayRate the hourly pay rate of the employee
+     * @return the payment amount for a pay period
+     */
+    static float computePayment(int hoursWorked, float hourlyPayRate) {
         float payment;
         if (hoursWorked <= NORMAL_HOURS) {
             payment = hoursWorked * hourlyPayRate;
@@ -100,6 +129,6 @@ public class Parttime extends Employee {
             int overtimeHours = hoursWorked - NORMAL_HOURS;
             payment = hourlyPayRate * ((NORMAL_HOURS) + (overtimeHours * OVERTIME_PAY_RATE_MULTIPLE));
         }
-        setPayment(payment);
+        return payment;
     }
 }
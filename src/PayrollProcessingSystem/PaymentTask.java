@@ -0,0 +1,63 @@
+package PayrollProcessingSystem;
+
+import java.util.Arrays;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * This class is a fork/join task that calculates the payments for a range of the Employee[] emplist array.
+ * The range is split in half until it is no larger than the sequential threshold, and each piece is then
+ * processed in a plain loop, or with the PayrollCents batch kernel when the company pays in cents. Each employee's
+ * payment only depends on that employee, so the results are the same as a sequential run.
+ * @author Kathleen Eife, Isha Vora
+ */
+class PaymentTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    @SuppressWarnings("serial") //the task is never serialized, so the employees do not have to be Serializable
+    private final Employee[] emplist;
+    private final int start;
+    private final int end;
+    private final int sequentialThreshold;
+    private final boolean isInCents;
+
+    /**
+     * This constructor creates a task for the employees in emplist from index start up to, not including, end.
+     * @param emplist the array of employees
+     * @param start the index of the first employee in the range
+     * @param end the index one past the last employee in the range
+     * @param sequentialThreshold the largest range that is processed without being split
+     * @param isInCents true to calculate the payments exactly in cents with PayrollCents
+     */
+    PaymentTask(Employee[] emplist, int start, int end, int sequentialThreshold, boolean isInCents) {
+        this.emplist = emplist;
+        this.start = start;
+        this.end = end;
+        this.sequentialThreshold = sequentialThreshold;
+        this.isInCents = isInCents;
+    }
+
+    /**
+     * This method calculates the payments for the range, splitting it into two subtasks if it is too large.
+     */
+    @Override
+    protected void compute() {
+        if (end - start > sequentialThreshold) {
+            int middle = (start + end) >>> 1;
+            invokeAll(new PaymentTask(emplist, start, middle, sequentialThreshold, isInCents),
+                      new PaymentTask(emplist, middle, end, sequentialThreshold, isInCents));
+        }
+        else if (isInCents) {
+            float[] payments = new float[end - start];
+            PayrollCents.computePayments(Arrays.asList(emplist).subList(start, end), payments);
+            for (int i = start; i < end; i++) {
+                emplist[i].setPayment(payments[i - start]);
+            }
+        }
+        else {
+            for (int i = start; i < end; i++) {
+                emplist[i].calculatePayment();
+            }
+        }
+    }
+}
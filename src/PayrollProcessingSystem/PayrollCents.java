@@ -0,0 +1,263 @@
+package PayrollProcessingSystem;
+
+/**
+ * This class calculates payments exactly in whole cents, held in a long, instead of in float dollars.
+ * Amounts are rounded to the nearest cent with halves rounded up, and so is every payment: a Fulltime payment is
+ * the annual salary divided by the number of pay periods, a Management payment is the annual salary plus the
+ * annual management compensation divided by the number of pay periods, and a Parttime payment is the hourly rate
+ * times the normal hours plus one and a half times the overtime hours.
+ * The batch method computePayments() works on parallel primitive arrays in one loop without branches on the
+ * employee type, so the JIT compiler can turn it into straight-line code. A Company pays its employees with it
+ * after Company.setPayingInCents(true): the employees are gathered into the arrays BATCH_SIZE at a time, and each
+ * payment is set to the float nearest its whole number of cents, so the statements and exports show the exact
+ * cent of every payment below $131,072 a pay period, the largest amount a float holds to the cent.
+ * @author Kathleen Eife, Isha Vora
+ */
+public class PayrollCents {
+
+    public static final int CENTS_PER_DOLLAR = 100;
+    public static final byte PARTTIME = 0;
+    public static final byte FULLTIME = 1;
+    public static final byte MANAGEMENT = 2;
+
+    private static final long NUM_PAY_PERIODS = (long) Fulltime.NUM_PAY_PERIODS;
+    private static final int OVERTIME_HALVES = 3; //overtime pays 1.5 times the rate, which is 3 half-hours per hour
+    private static final int NORMAL_HALVES = 2;
+    private static final int[] MANAGEMENT_CODES = {Management.MANAGER_NUM, Management.DEPT_HEAD_NUM,
+            Management.DIRECTOR_NUM};
+    private static final long[] ANNUAL_MANAGEMENT_CENTS = buildAnnualManagementCents(); //indexed by code
+    private static final int BATCH_SIZE = 4096; //employees gathered into the arrays of computePayments() at once
+    private static final byte OTHER = -1; //an employee of no pay type, which keeps its payment
+
+    /**
+     * This constructor is private because the class only has static methods.
+     */
+    private PayrollCents() {
+    }
+
+    /**
+     * This private helper method builds the table of the annual management compensation in cents, indexed by
+     * management code, with 0 for the codes that are not recognized.
+     * @return the table
+     */
+    private static long[] buildAnnualManagementCents() {
+        int maxCode = 0;
+        for (int managementCode : MANAGEMENT_CODES) {
+            maxCode = Math.max(maxCode, managementCode);
+        }
+        long[] annualCents = new long[maxCode + 1];
+        for (int managementCode : MANAGEMENT_CODES) {
+            annualCents[managementCode] = Management.getAnnualAdditionalCompCents(managementCode);
+        }
+        return annualCents;
+    }
+
+    /**
+     * This method converts a dollar amount to cents, rounding to the nearest cent with halves rounded up.
+     * @param amount a dollar amount
+     * @return the amount in cents
+     */
+    public static long toCents(float amount) {
+        return Math.round(amount * (double) CENTS_PER_DOLLAR);
+    }
+
+    /**
+     * This method converts an amount in cents to dollars.
+     * @param cents an amount in cents
+     * @return the amount in dollars
+     */
+    public static double toDollars(long cents) {
+        return cents / (double) CENTS_PER_DOLLAR;
+    }
+
+    /**
+     * This private helper method divides two numbers and rounds the result to the nearest integer, with halves
+     * rounded up.
+     * @param dividend the number to divide
+     * @param divisor the positive number to divide by
+     * @return the rounded quotient
+     */
+    private static long divideRounded(long dividend, long divisor) {
+        return Math.floorDiv(2 * dividend + divisor, 2 * divisor);
+    }
+
+    /**
+     * This method calculates the payment for a pay period of a Fulltime employee.
+     * @param salaryCents the annual salary in cents
+     * @return the payment in cents
+     */
+    public static long fulltimePayment(long salaryCents) {
+        return divideRounded(salaryCents, NUM_PAY_PERIODS);
+    }
+
+    /**
+     * This method calculates the payment for a pay period of a Management employee.
+     * @param salaryCents the annual salary in cents
+     * @param managementCode the code that determines which management role an employee holds
+     * @return the payment in cents
+     */
+    public static long managementPayment(long salaryCents, int managementCode) {
+        return divideRounded(salaryCents + getAnnualManagementCents(managementCode), NUM_PAY_PERIODS);
+    }
+
+    /**
+     * This method calculates the payment for a pay period of a Parttime employee.
+     * @param hourlyRateCents the hourly pay rate in cents
+     * @param hoursWorked the hours worked in the pay period
+     * @return the payment in cents
+     */
+    public static long parttimePayment(long hourlyRateCents, int hoursWorked) {
+        int normalHours = Math.min(hoursWorked, Parttime.NORMAL_HOURS);
+        int overtimeHours = hoursWorked - normalHours;
+        long halfHours = (NORMAL_HALVES * normalHours) + (OVERTIME_HALVES * overtimeHours);
+        return divideRounded(hourlyRateCents * halfHours, NORMAL_HALVES);
+    }
+
+    /**
+     * This private helper method returns the annual management compensation for a management code.
+     * @param managementCode the code that determines which management role an employee holds
+     * @return the annual compensation in cents, or 0 if the code is not recognized
+     */
+    private static long getAnnualManagementCents(int managementCode) {
+        if (managementCode < 0 || managementCode >= ANNUAL_MANAGEMENT_CENTS.length) {
+            return 0;
+        }
+        return ANNUAL_MANAGEMENT_CENTS[managementCode];
+    }
+
+    /**
+     * This method calculates the payments of a batch of employees held in parallel arrays.
+     * Every employee goes through the same arithmetic: the annual amount (salary plus management compensation)
+     * divided by the pay periods for Fulltime and Management employees, and the hourly amount for Parttime
+     * employees, with the employee type only choosing which of the two results is kept.
+     * @param employeeType the type of each employee: PARTTIME, FULLTIME, or MANAGEMENT
+     * @param salaryCents the annual salary of each employee in cents, or 0 for a Parttime employee
+     * @param hourlyRateCents the hourly pay rate of each employee in cents, or 0 for a Fulltime employee
+     * @param hoursWorked the hours worked by each employee in the pay period
+     * @param managementCode the management code of each employee, or 0 if it is not a Management employee
+     * @param paymentCents the array to store the payment of each employee in, in cents
+     * @param numEmployee the number of employees in the arrays
+     */
+    public static void computePayments(byte[] employeeType, long[] salaryCents, long[] hourlyRateCents,
+                                       int[] hoursWorked, int[] managementCode, long[] paymentCents,
+                                       int numEmployee) {
+        long doublePeriods = 2 * NUM_PAY_PERIODS;
+        for (int i = 0; i < numEmployee; i++) {
+            boolean isManagement = (employeeType[i] == MANAGEMENT);
+            long annualCents = salaryCents[i] + (isManagement ? getAnnualManagementCents(managementCode[i]) : 0);
+            long salariedPayment = Math.floorDiv(2 * annualCents + NUM_PAY_PERIODS, doublePeriods);
+
+            int hours = hoursWorked[i];
+            int normalHours = Math.min(hours, Parttime.NORMAL_HOURS);
+            long halfHours = (NORMAL_HALVES * normalHours) + (OVERTIME_HALVES * (hours - normalHours));
+            long hourlyPayment = Math.floorDiv(hourlyRateCents[i] * halfHours + 1, NORMAL_HALVES);
+
+            paymentCents[i] = (employeeType[i] == PARTTIME) ? hourlyPayment : salariedPayment;
+        }
+    }
+
+    /**
+     * This method computes the payment for a pay period of an employee in cents, without setting it.
+     * @param employee a Parttime, Fulltime, or Management employee
+     * @return the payment in dollars, as the float nearest its whole number of cents, or the current payment of
+     * an employee of no pay type
+     */
+    static float computePayment(Employee employee) {
+        long paymentCents;
+        if (employee instanceof Management) {
+            Management managementEmp = (Management) employee;
+            paymentCents = managementPayment(toCents(managementEmp.getSalary()), managementEmp.getManagementCode());
+        }
+        else if (employee instanceof Fulltime) {
+            paymentCents = fulltimePayment(toCents(((Fulltime) employee).getSalary()));
+        }
+        else if (employee instanceof Parttime) {
+            Parttime parttimeEmp = (Parttime) employee;
+            paymentCents = parttimePayment(toCents(parttimeEmp.getHourlyPayRate()), parttimeEmp.getHoursWorked());
+        }
+        else {
+            return employee.getPayment();
+        }
+        return (float) toDollars(paymentCents);
+    }
+
+    /**
+     * This method computes the payments of employees in cents without setting them. The employees are gathered
+     * into the primitive arrays of the batch kernel BATCH_SIZE at a time, so the arrays stay small however many
+     * employees there are.
+     * @param employees the employees, in order
+     * @param payments the array to store the payment of each employee in, in dollars, as the float nearest its
+     * whole number of cents; its length is the number of employees
+     */
+    static void computePayments(Iterable<Employee> employees, float[] payments) {
+        int batchSize = Math.min(BATCH_SIZE, payments.length);
+        byte[] employeeType = new byte[batchSize];
+        long[] salaryCents = new long[batchSize];
+        long[] hourlyRateCents = new long[batchSize];
+        int[] hoursWorked = new int[batchSize];
+        int[] managementCode = new int[batchSize];
+        long[] paymentCents = new long[batchSize];
+        int batchStart = 0;
+        int numInBatch = 0;
+        for (Employee employee : employees) {
+            if (numInBatch == batchSize) {
+                computeBatch(employeeType, salaryCents, hourlyRateCents, hoursWorked, managementCode, paymentCents,
+                             numInBatch, payments, batchStart);
+                batchStart += numInBatch;
+                numInBatch = 0;
+            }
+            salaryCents[numInBatch] = 0;
+            hourlyRateCents[numInBatch] = 0;
+            hoursWorked[numInBatch] = 0;
+            managementCode[numInBatch] = 0;
+            if (employee instanceof Management) {
+                Management managementEmp = (Management) employee;
+                employeeType[numInBatch] = MANAGEMENT;
+                salaryCents[numInBatch] = toCents(managementEmp.getSalary());
+                managementCode[numInBatch] = managementEmp.getManagementCode();
+            }
+            else if (employee instanceof Fulltime) {
+                employeeType[numInBatch] = FULLTIME;
+                salaryCents[numInBatch] = toCents(((Fulltime) employee).getSalary());
+            }
+            else if (employee instanceof Parttime) {
+                Parttime parttimeEmp = (Parttime) employee;
+                employeeType[numInBatch] = PARTTIME;
+                hourlyRateCents[numInBatch] = toCents(parttimeEmp.getHourlyPayRate());
+                hoursWorked[numInBatch] = parttimeEmp.getHoursWorked();
+            }
+            else {
+                employeeType[numInBatch] = OTHER;
+                payments[batchStart + numInBatch] = employee.getPayment();
+            }
+            numInBatch++;
+        }
+        computeBatch(employeeType, salaryCents, hourlyRateCents, hoursWorked, managementCode, paymentCents,
+                     numInBatch, payments, batchStart);
+    }
+
+    /**
+     * This private helper method runs the batch kernel over one batch of gathered employees and stores their
+     * payments in dollars.
+     * @param employeeType the type of each employee of the batch
+     * @param salaryCents the annual salary of each employee of the batch in cents
+     * @param hourlyRateCents the hourly pay rate of each employee of the batch in cents
+     * @param hoursWorked the hours worked by each employee of the batch
+     * @param managementCode the management code of each employee of the batch
+     * @param paymentCents the array for the kernel to store the payments of the batch in
+     * @param numInBatch the number of employees in the batch
+     * @param payments the array to store the payments in dollars in
+     * @param batchStart the index in payments of the first employee of the batch
+     */
+    private static void computeBatch(byte[] employeeType, long[] salaryCents, long[] hourlyRateCents,
+                                     int[] hoursWorked, int[] managementCode, long[] paymentCents, int numInBatch,
+                                     float[] payments, int batchStart) {
+        computePayments(employeeType, salaryCents, hourlyRateCents, hoursWorked, managementCode, paymentCents,
+                        numInBatch);
+        for (int i = 0; i < numInBatch; i++) {
+            if (employeeType[i] != OTHER) { //the payment of an employee of no pay type was stored when gathered
+                payments[batchStart + i] = (float) toDollars(paymentCents[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package PayrollProcessingSystem;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+/**
+ * This class runs the payroll without the GUI, for batch jobs on servers without a display.
+ * It imports an employee database, processes the payments, prints the earning statements in the chosen order,
+ * and exports the database, in that order, skipping the steps that are not asked for. The time taken by each
+ * step is reported on the standard error stream, so the statements can be redirected on their own.
+ * The class does not use any JavaFX class, so the JavaFX toolkit is never loaded.
+ * Usage: java PayrollProcessingSystem.PayrollRunner -import file [-threads n] [-pay] [-cents]
+ * [-print all|date|department] [-output file] [-summary] [-export file]
+ * @author Kathleen Eife, Isha Vora
+ */
+public class PayrollRunner {
+
+    private File importFile;
+    private int numThreads = 1;
+    private boolean isPaying;
+    private boolean isPayingInCents;
+    private String printOrder; //null if the statements are not printed
+    private File outputFile; //null to print to the standard output
+    private boolean isPrintingSummary;
+    private File exportFile; //null if the database is not exported
+    private final Company company = new Company();
+
+    public static final int EXIT_SUCCESS = 0;
+    public static final int EXIT_FAILURE = 1;
+    public static final int EXIT_USAGE = 2;
+
+    private static final String USAGE = "Usage: PayrollRunner -import file [-threads n] [-pay] [-cents]"
+            + " [-print all|date|department] [-output file] [-summary] [-export file]";
+    private static final long NANOS_PER_MILLI = 1000000L;
+    private static final int OUTPUT_BUFFER_SIZE = 1 << 16;
+
+    /**
+     * This method reads the command line options.
+     * @param args the command line options
+     * @throws IllegalArgumentException if an option is not recognized or is missing its value
+     */
+    void parseArguments(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            if (option.equals("-pay")) {
+                isPaying = true;
+            }
+            else if (option.equals("-cents")) {
+                isPayingInCents = true;
+            }
+            else if (option.equals("-summary")) {
+                isPrintingSummary = true;
+            }
+            else {
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException("Missing value for " + option + ".");
+                }
+                i++;
+                String value = args[i];
+                if (option.equals("-import")) {
+                    importFile = new File(value);
+                }
+                else if (option.equals("-threads")) {
+                    numThreads = Integer.parseInt(value);
+                    if (numThreads < 1) {
+                        throw new IllegalArgumentException("Threads must be positive.");
+                    }
+                }
+                else if (option.equals("-print")) {
+                    if (!value.equals("all") && !value.equals("date") && !value.equals("department")) {
+                        throw new IllegalArgumentException("Unknown print order " + value + ".");
+                    }
+                    printOrder = value;
+                }
+                else if (option.equals("-output")) {
+                    outputFile = new File(value);
+                }
+                else if (option.equals("-export")) {
+                    exportFile = new File(value);
+                }
+                else {
+                    throw new IllegalArgumentException("Unknown option " + option + ".");
+                }
+            }
+        }
+        if (importFile == null) {
+            throw new IllegalArgumentException("No import file given.");
+        }
+    }
+
+    /**
+     * This method runs the steps asked for on the command line, reporting the time taken by each.
+     * @return EXIT_SUCCESS if every step succeeded, EXIT_FAILURE otherwise
+     */
+    int run() {
+        long start = System.nanoTime();
+        boolean isImported = (numThreads == 1) ? company.importDatabase(importFile, company)
+                : company.importDatabase(importFile, company, numThreads);
+        reportTime("import", start, company.getNumEmployee());
+        if (!isImported) {
+            System.err.println("File Import Failed: " + importFile);
+            return EXIT_FAILURE;
+        }
+        if (isPaying) {
+            start = System.nanoTime();
+            company.setPayingInCents(isPayingInCents);
+            if (numThreads == 1 || company.canProcessChangedPayments()) {
+                company.updatePayments();
+            }
+            else {
+                company.processPayments(numThreads, Company.DEFAULT_SEQUENTIAL_THRESHOLD);
+            }
+            reportTime("pay", start, company.getNumEmployee());
+        }
+        if (printOrder != null || isPrintingSummary) {
+            start = System.nanoTime();
+            try (Writer out = openOutput()) {
+                if (printOrder != null) {
+                    printStatements(out);
+                }
+                if (isPrintingSummary) {
+                    out.append(company.printSummary());
+                }
+            }
+            catch (IOException error) {
+                System.err.println("Print Failed: " + error.getMessage());
+                return EXIT_FAILURE;
+            }
+            reportTime("print", start, company.getNumEmployee());
+        }
+        if (exportFile != null) {
+            start = System.nanoTime();
+            if (!company.exportDatabase(exportFile)) {
+                System.err.println("File Export Failed: " + exportFile);
+                return EXIT_FAILURE;
+            }
+            reportTime("export", start, company.getNumEmployee());
+        }
+        return EXIT_SUCCESS;
+    }
+
+    /**
+     * This private helper method writes the earning statements in the chosen order.
+     * @param out the Writer to write to
+     * @throws IOException if the statements cannot be written
+     */
+    private void printStatements(Writer out) throws IOException {
+        if (printOrder.equals("date")) {
+            company.printByDate(out);
+        }
+        else if (printOrder.equals("department")) {
+            company.printByDepartment(out);
+        }
+        else {
+            company.print(out);
+        }
+    }
+
+    /**
+     * This private helper method opens the output file, or the standard output if there is no output file.
+     * The standard output is written through a buffer and is not closed by closing the Writer.
+     * @return a buffered Writer to the output
+     * @throws IOException if the output file cannot be opened
+     */
+    private Writer openOutput() throws IOException {
+        if (outputFile != null) {
+            return new BufferedWriter(new FileWriter(outputFile), OUTPUT_BUFFER_SIZE);
+        }
+        return new BufferedWriter(new OutputStreamWriter(new FileOutputStream(FileDescriptor.out)),
+                OUTPUT_BUFFER_SIZE) {
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        };
+    }
+
+    /**
+     * This private helper method reports the time taken by a step on the standard error stream.
+     * @param step the name of the step
+     * @param start the value of System.nanoTime() when the step started
+     * @param numEmployee the number of employees in the company
+     */
+    private static void reportTime(String step, long start, int numEmployee) {
+        long millis = (System.nanoTime() - start) / NANOS_PER_MILLI;
+        System.err.println(step + ": " + millis + " ms, " + numEmployee + " employees");
+    }
+
+    /**
+     * This method serves as the main method of the batch runner.
+     * @param args the options described in the class comment
+     */
+    public static void main(String[] args) {
+        long start = System.nanoTime();
+        PayrollRunner runner = new PayrollRunner();
+        try {
+            runner.parseArguments(args);
+        }
+        catch (IllegalArgumentException badOption) { //includes NumberFormatException
+            System.err.println(badOption.getMessage());
+            System.err.println(USAGE);
+            System.exit(EXIT_USAGE);
+        }
+        int exitCode = runner.run();
+        reportTime("total", start, runner.company.getNumEmployee());
+        System.exit(exitCode);
+    }
+}
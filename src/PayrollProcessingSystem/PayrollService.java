@@ -0,0 +1,671 @@
+package PayrollProcessingSystem;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class serves a company over HTTP on the loopback address, so that other programs on the same machine can
+ * query and change the employee database without the GUI.
+ * Request parameters are read from the query string and, for POST, PUT, and DELETE, from a form-encoded body.
+ * Every response is a JSON object. The endpoints are:
+ * GET /employees?order=all|date|department&amp;offset=0&amp;limit=100 lists a page of employees;
+ * POST /employees with type=P|F|M, name, department, date (mm/dd/yyyy), and rate, salary, or salary and code
+ * adds an employee;
+ * GET /employee and DELETE /employee with name, department, and date look up and remove an employee;
+ * PUT /hours with name, department, date, and hours sets the hours of a Parttime employee;
+ * POST /payroll brings the payments up to date, calculating only the employees that changed since the last run
+ * when few did; GET /summary returns the payroll totals of the company;
+ * GET /search?name=prefix&amp;mistakes=1&amp;limit=10 finds the employees whose name starts like the prefix.
+ * Requests are handled by a fixed pool of threads. The company is a ConcurrentCompany, so lookups and listings
+ * run at the same time while changes are serialized.
+ * The company is kept in a snapshot and a CompanyJournal in the data directory, CompanyJournal.getDataDirectory()
+ * unless -data is given, so it is restored when the service starts again.
+ * With -cents, the payments are calculated exactly in whole cents; see Company.setPayingInCents().
+ * Usage: java PayrollProcessingSystem.PayrollService [-port 8080] [-import file] [-threads n] [-data directory]
+ * [-cents]
+ * @author Kathleen Eife, Isha Vora
+ */
+public class PayrollService {
+    private final ConcurrentCompany company;
+    private final HttpServer server;
+    private final ExecutorService handlers;
+
+    public static final int DEFAULT_PORT = 8080;
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 1000;
+    public static final int DEFAULT_SEARCH_SIZE = 10;
+    public static final int MAX_SEARCH_MISTAKES = 2;
+
+    private static final int BACKLOG = 1024; //connections waiting to be accepted
+    private static final int MIN_HOURS = 0;
+    private static final int MAX_HOURS = 100;
+    private static final int MIN_MANAGEMENT_CODE = 1;
+    private static final int MAX_MANAGEMENT_CODE = 3;
+    private static final String[] DEPARTMENTS = {"CS", "ECE", "IT"};
+    private static final int STATUS_OK = 200;
+    private static final int STATUS_CREATED = 201;
+    private static final int STATUS_BAD_REQUEST = 400;
+    private static final int STATUS_NOT_FOUND = 404;
+    private static final int STATUS_METHOD_NOT_ALLOWED = 405;
+    private static final int STATUS_CONFLICT = 409;
+    private static final int STATUS_SERVER_ERROR = 500;
+    private static final int STOP_DELAY_SECONDS = 1;
+    private static final String USAGE = "Usage: PayrollService [-port n] [-import file] [-threads n]"
+            + " [-data directory] [-cents]";
+
+    /**
+     * This constructor creates a service for a company, listening on the loopback address. The service does not
+     * accept requests until start() is called.
+     * @param company the company to serve
+     * @param port the port to listen on, or 0 for any free port
+     * @param numThreads the number of threads that handle requests
+     * @throws IOException if the port cannot be opened
+     */
+    public PayrollService(ConcurrentCompany company, int port, int numThreads) throws IOException {
+        this.company = company;
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), BACKLOG);
+        handlers = Executors.newFixedThreadPool(numThreads);
+        server.setExecutor(handlers);
+        server.createContext("/employees", exchange -> handle(exchange, this::handleEmployees));
+        server.createContext("/employee", exchange -> handle(exchange, this::handleEmployee));
+        server.createContext("/hours", exchange -> handle(exchange, this::handleHours));
+        server.createContext("/payroll", exchange -> handle(exchange, this::handlePayroll));
+        server.createContext("/summary", exchange -> handle(exchange, this::handleSummary));
+        server.createContext("/search", exchange -> handle(exchange, this::handleSearch));
+    }
+
+    /**
+     * This method starts accepting requests.
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * This method stops accepting requests, waits briefly for the requests being handled, and stops the
+     * handler threads.
+     */
+    public void stop() {
+        server.stop(STOP_DELAY_SECONDS);
+        handlers.shutdown();
+        try {
+            handlers.awaitTermination(STOP_DELAY_SECONDS, TimeUnit.SECONDS);
+        }
+        catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * This getter method returns the port the service listens on.
+     * @return the port
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * This interface handles the requests to one endpoint.
+     */
+    private interface Endpoint {
+        /**
+         * This method handles a request.
+         * @param method the HTTP method of the request
+         * @param parameters the parameters of the request
+         * @param response the StringBuilder to write the JSON response to
+         * @return the HTTP status of the response
+         */
+        int handle(String method, HashMap<String, String> parameters, StringBuilder response);
+    }
+
+    /**
+     * This private helper method reads the parameters of a request, passes them to an endpoint, and sends the
+     * endpoint's response. A path other than the endpoint's own, such as /employees/1 or /employeesXYZ, is answered
+     * with status 404, and a bad parameter or a body that cannot be read with status 400. The exchange is always
+     * closed.
+     * @param exchange the request and response
+     * @param endpoint the endpoint to handle the request
+     * @throws IOException if the response cannot be sent
+     */
+    private void handle(HttpExchange exchange, Endpoint endpoint) throws IOException {
+        StringBuilder response = new StringBuilder();
+        int status;
+        try {
+            if (!exchange.getRequestURI().getPath().equals(exchange.getHttpContext().getPath())) {
+                status = error(response, STATUS_NOT_FOUND, "Not found.");
+            }
+            else {
+                HashMap<String, String> parameters = new HashMap<>();
+                parseParameters(exchange.getRequestURI().getRawQuery(), parameters);
+                try (InputStream body = exchange.getRequestBody()) {
+                    parseParameters(new String(body.readAllBytes(), StandardCharsets.UTF_8), parameters);
+                }
+                status = endpoint.handle(exchange.getRequestMethod(), parameters, response);
+            }
+        }
+        catch (IOException unreadableBody) {
+            response.setLength(0);
+            status = error(response, STATUS_BAD_REQUEST, "Request body could not be read.");
+        }
+        catch (IllegalArgumentException badParameter) { //includes NumberFormatException
+            response.setLength(0);
+            status = error(response, STATUS_BAD_REQUEST, badParameter.getMessage());
+        }
+        catch (RuntimeException failure) {
+            response.setLength(0);
+            status = error(response, STATUS_SERVER_ERROR, "Internal error.");
+        }
+        try {
+            byte[] responseBytes = response.toString().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(status, responseBytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(responseBytes);
+            }
+        }
+        finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * This private helper method parses form-encoded parameters, such as a query string.
+     * @param text the encoded parameters, or null
+     * @param parameters the map to add the parameters to
+     */
+    private static void parseParameters(String text, HashMap<String, String> parameters) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        for (String pair : text.split("&")) {
+            int equalsIndex = pair.indexOf('=');
+            String key = (equalsIndex < 0) ? pair : pair.substring(0, equalsIndex);
+            String value = (equalsIndex < 0) ? "" : pair.substring(equalsIndex + 1);
+            parameters.put(URLDecoder.decode(key, StandardCharsets.UTF_8),
+                    URLDecoder.decode(value, StandardCharsets.UTF_8).trim());
+        }
+    }
+
+    /**
+     * This private helper method handles /employees: GET lists a page of employees and POST adds an employee.
+     * @param method the HTTP method of the request
+     * @param parameters the parameters of the request
+     * @param response the StringBuilder to write the JSON response to
+     * @return the HTTP status of the response
+     */
+    private int handleEmployees(String method, HashMap<String, String> parameters, StringBuilder response) {
+        if (method.equals("GET")) {
+            String order = parameters.getOrDefault("order", "all");
+            int offset = getInt(parameters, "offset", 0);
+            int limit = Math.min(getInt(parameters, "limit", DEFAULT_PAGE_SIZE), MAX_PAGE_SIZE);
+            if (offset < 0 || limit < 0) {
+                throw new IllegalArgumentException("Offset and limit cannot be negative.");
+            }
+            if (!order.equals("all") && !order.equals("date") && !order.equals("department")) {
+                throw new IllegalArgumentException("Unknown order " + order + ".");
+            }
+            company.read(readCompany -> {
+                List<Employee> page;
+                if (order.equals("date")) {
+                    page = readCompany.getPageByDate(offset, limit);
+                }
+                else if (order.equals("department")) {
+                    page = readCompany.getPageByDepartment(offset, limit);
+                }
+                else {
+                    page = readCompany.getPage(offset, limit);
+                }
+                response.append("{\"total\":").append(readCompany.getNumEmployee()).append(",\"offset\":")
+                        .append(offset).append(",\"employees\":[");
+                for (int i = 0; i < page.size(); i++) {
+                    if (i > 0) {
+                        response.append(',');
+                    }
+                    appendEmployee(response, page.get(i));
+                }
+                return null;
+            });
+            response.append("]}");
+            return STATUS_OK;
+        }
+        else if (method.equals("POST")) {
+            Employee employee = createEmployee(parameters);
+            if (!company.add(employee)) {
+                return error(response, STATUS_CONFLICT, "Employee is already in the list.");
+            }
+            response.append("{\"added\":true,\"employee\":");
+            company.read(readCompany -> {
+                appendEmployee(response, employee);
+                return null;
+            });
+            response.append('}');
+            return STATUS_CREATED;
+        }
+        return methodNotAllowed(response);
+    }
+
+    /**
+     * This private helper method handles /employee: GET looks up an employee and DELETE removes an employee.
+     * @param method the HTTP method of the request
+     * @param parameters the parameters of the request
+     * @param response the StringBuilder to write the JSON response to
+     * @return the HTTP status of the response
+     */
+    private int handleEmployee(String method, HashMap<String, String> parameters, StringBuilder response) {
+        Profile profile = getProfile(parameters);
+        if (method.equals("GET")) {
+            return company.read(readCompany -> {
+                Employee employee = readCompany.lookup(profile);
+                if (employee == null) {
+                    return error(response, STATUS_NOT_FOUND, "Employee does not exist.");
+                }
+                appendEmployee(response, employee);
+                return STATUS_OK;
+            });
+        }
+        else if (method.equals("DELETE")) {
+            if (!company.remove(new Employee(profile.getName(), profile.getDepartment(), profile.getDateHired()))) {
+                return error(response, STATUS_NOT_FOUND, "Employee does not exist.");
+            }
+            response.append("{\"removed\":true}");
+            return STATUS_OK;
+        }
+        return methodNotAllowed(response);
+    }
+
+    /**
+     * This private helper method handles /hours: PUT sets the working hours of a Parttime employee.
+     * @param method the HTTP method of the request
+     * @param parameters the parameters of the request
+     * @param response the StringBuilder to write the JSON response to
+     * @return the HTTP status of the response
+     */
+    private int handleHours(String method, HashMap<String, String> parameters, StringBuilder response) {
+        if (!method.equals("PUT")) {
+            return methodNotAllowed(response);
+        }
+        Profile profile = getProfile(parameters);
+        int hours = getInt(parameters, "hours", -1);
+        if (hours <= MIN_HOURS || hours > MAX_HOURS) {
+            throw new IllegalArgumentException("Hours must be more than " + MIN_HOURS + " and at most " + MAX_HOURS
+                    + ".");
+        }
+        Parttime setHoursEmployee = new Parttime(profile.getName(), profile.getDepartment(),
+                profile.getDateHired(), hours);
+        return company.write(writeCompany -> { //set and show the hours with no change in between
+            if (!writeCompany.setHours(setHoursEmployee)) {
+                return error(response, STATUS_NOT_FOUND, "Employee does not exist.");
+            }
+            response.append("{\"hoursSet\":true,\"employee\":");
+            appendEmployee(response, writeCompany.lookup(profile));
+            response.append('}');
+            return STATUS_OK;
+        });
+    }
+
+    /**
+     * This private helper method handles /payroll: POST brings the payments of all employees up to date, and
+     * returns the number of employees whose payments were calculated.
+     * @param method the HTTP method of the request
+     * @param parameters the parameters of the request
+     * @param response the StringBuilder to write the JSON response to
+     * @return the HTTP status of the response
+     */
+    private int handlePayroll(String method, HashMap<String, String> parameters, StringBuilder response) {
+        if (!method.equals("POST")) {
+            return methodNotAllowed(response);
+        }
+        int numProcessed = company.updatePayments();
+        response.append("{\"processed\":").append(numProcessed).append('}');
+        return STATUS_OK;
+    }
+
+    /**
+     * This private helper method handles /summary: GET returns the payroll totals of the company.
+     * @param method the HTTP method of the request
+     * @param parameters the parameters of the request
+     * @param response the StringBuilder to write the JSON response to
+     * @return the HTTP status of the response
+     */
+    private int handleSummary(String method, HashMap<String, String> parameters, StringBuilder response) {
+        if (!method.equals("GET")) {
+            return methodNotAllowed(response);
+        }
+        PayrollTotals totals = company.getCompanyTotals();
+        response.append("{\"employees\":").append(totals.getNumEmployee()).append(",\"totalPayment\":");
+        appendAmount(response, totals.getTotalPayment());
+        response.append(",\"totalSalary\":");
+        appendAmount(response, totals.getTotalSalary());
+        response.append(",\"overtimeHours\":").append(totals.getOvertimeHours()).append('}');
+        return STATUS_OK;
+    }
+
+    /**
+     * This private helper method handles /search: GET finds the employees whose name starts with a prefix, ignoring
+     * case and allowing for a number of typing mistakes.
+     * @param method the HTTP method of the request
+     * @param parameters the parameters of the request
+     * @param response the StringBuilder to write the JSON response to
+     * @return the HTTP status of the response
+     */
+    private int handleSearch(String method, HashMap<String, String> parameters, StringBuilder response) {
+        if (!method.equals("GET")) {
+            return methodNotAllowed(response);
+        }
+        String prefix = getRequired(parameters, "name");
+        int mistakes = getInt(parameters, "mistakes", 0);
+        int limit = Math.min(getInt(parameters, "limit", DEFAULT_SEARCH_SIZE), MAX_PAGE_SIZE);
+        if (mistakes < 0 || mistakes > MAX_SEARCH_MISTAKES || limit < 0) {
+            throw new IllegalArgumentException("Mistakes must be between 0 and " + MAX_SEARCH_MISTAKES
+                    + ", and limit cannot be negative.");
+        }
+        List<Employee> matches = company.findSimilarNames(prefix, mistakes, limit);
+        response.append("{\"employees\":[");
+        company.read(readCompany -> {
+            for (int i = 0; i < matches.size(); i++) {
+                if (i > 0) {
+                    response.append(',');
+                }
+                appendEmployee(response, matches.get(i));
+            }
+            return null;
+        });
+        response.append("]}");
+        return STATUS_OK;
+    }
+
+    /**
+     * This private helper method creates an employee from the parameters of a request, checking them the same
+     * way as the GUI.
+     * @param parameters the parameters of the request
+     * @return a Parttime, Fulltime, or Management employee
+     * @throws IllegalArgumentException if a parameter is missing or not valid
+     */
+    private static Employee createEmployee(HashMap<String, String> parameters) {
+        String type = getRequired(parameters, "type");
+        Profile profile = getProfile(parameters);
+        if (type.equals("P")) {
+            float rate = getPositiveAmount(parameters, "rate");
+            return new Parttime(profile.getName(), profile.getDepartment(), profile.getDateHired(), rate);
+        }
+        float salary = getPositiveAmount(parameters, "salary");
+        if (type.equals("F")) {
+            return new Fulltime(profile.getName(), profile.getDepartment(), profile.getDateHired(), salary);
+        }
+        else if (type.equals("M")) {
+            int code = getInt(parameters, "code", 0);
+            if (code < MIN_MANAGEMENT_CODE || code > MAX_MANAGEMENT_CODE) {
+                throw new IllegalArgumentException("Invalid management code.");
+            }
+            return new Management(profile.getName(), profile.getDepartment(), profile.getDateHired(), salary, code);
+        }
+        throw new IllegalArgumentException("Unknown employee type " + type + ".");
+    }
+
+    /**
+     * This private helper method reads the name, department, and date hired of a request.
+     * @param parameters the parameters of the request
+     * @return the profile
+     * @throws IllegalArgumentException if a parameter is missing or not valid
+     */
+    private static Profile getProfile(HashMap<String, String> parameters) {
+        String name = getRequired(parameters, "name");
+        String department = getRequired(parameters, "department");
+        boolean isKnownDepartment = false;
+        for (String knownDepartment : DEPARTMENTS) {
+            isKnownDepartment |= knownDepartment.equals(department);
+        }
+        if (!isKnownDepartment) {
+            throw new IllegalArgumentException("Unknown department " + department + ".");
+        }
+        Date dateHired = new Date(getRequired(parameters, "date"));
+        if (!dateHired.isValid()) {
+            throw new IllegalArgumentException("Invalid Date!");
+        }
+        return new Profile(name, department, dateHired);
+    }
+
+    /**
+     * This private helper method returns a parameter that must be present.
+     * @param parameters the parameters of the request
+     * @param key the name of the parameter
+     * @return the value of the parameter
+     * @throws IllegalArgumentException if the parameter is missing or empty
+     */
+    private static String getRequired(HashMap<String, String> parameters, String key) {
+        String value = parameters.get(key);
+        if (value == null || value.isEmpty()) {
+            throw new IllegalArgumentException("Missing parameter " + key + ".");
+        }
+        return value;
+    }
+
+    /**
+     * This private helper method returns an integer parameter.
+     * @param parameters the parameters of the request
+     * @param key the name of the parameter
+     * @param defaultValue the value to return if the parameter is missing
+     * @return the value of the parameter
+     * @throws NumberFormatException if the parameter is not an integer
+     */
+    private static int getInt(HashMap<String, String> parameters, String key, int defaultValue) {
+        String value = parameters.get(key);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        return Integer.parseInt(value);
+    }
+
+    /**
+     * This private helper method returns an amount parameter that must be a positive number.
+     * @param parameters the parameters of the request
+     * @param key the name of the parameter
+     * @return the value of the parameter
+     * @throws IllegalArgumentException if the parameter is missing or is not a positive number
+     */
+    private static float getPositiveAmount(HashMap<String, String> parameters, String key) {
+        float amount = Float.parseFloat(getRequired(parameters, key));
+        if (!(amount > 0) || Float.isInfinite(amount)) {
+            throw new IllegalArgumentException("Invalid " + key + ": must be a positive number.");
+        }
+        return amount;
+    }
+
+    /**
+     * This private helper method writes an employee as a JSON object.
+     * @param response the StringBuilder to write to
+     * @param employee the employee
+     */
+    private static void appendEmployee(StringBuilder response, Employee employee) {
+        Profile profile = employee.getEmployeeProfile();
+        response.append("{\"name\":");
+        appendString(response, profile.getName());
+        response.append(",\"department\":");
+        appendString(response, profile.getDepartment());
+        response.append(",\"dateHired\":\"").append(profile.getDateHired().getDate()).append("\",\"type\":\"");
+        if (employee instanceof Management) {
+            Management managementEmp = (Management) employee;
+            response.append(Company.MANAGEMENT_TYPE).append("\",\"salary\":");
+            appendAmount(response, managementEmp.getSalary());
+            response.append(",\"managementCode\":").append(managementEmp.getManagementCode());
+        }
+        else if (employee instanceof Fulltime) {
+            response.append(Company.FULLTIME_TYPE).append("\",\"salary\":");
+            appendAmount(response, ((Fulltime) employee).getSalary());
+        }
+        else if (employee instanceof Parttime) {
+            Parttime parttimeEmp = (Parttime) employee;
+            response.append(Company.PARTTIME_TYPE).append("\",\"hourlyRate\":");
+            appendAmount(response, parttimeEmp.getHourlyPayRate());
+            response.append(",\"hoursWorked\":").append(parttimeEmp.getHoursWorked());
+        }
+        response.append(",\"payment\":");
+        appendAmount(response, employee.getPayment());
+        response.append('}');
+    }
+
+    /**
+     * This private helper method writes a money amount as a JSON number, rounded to the cent in the same way as
+     * the printed statements.
+     * @param response the StringBuilder to write to
+     * @param amount the amount in dollars
+     */
+    private static void appendAmount(StringBuilder response, double amount) {
+        if (Double.isNaN(amount) || Double.isInfinite(amount)) { //JSON has no number for these
+            response.append("null");
+        }
+        else {
+            MoneyFormatter.appendPlain(response, amount);
+        }
+    }
+
+    /**
+     * This private helper method writes a string as a JSON string.
+     * @param response the StringBuilder to write to
+     * @param text the string
+     */
+    private static void appendString(StringBuilder response, String text) {
+        response.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"' || c == '\\') {
+                response.append('\\').append(c);
+            }
+            else if (c < ' ') {
+                response.append(String.format("\\u%04x", (int) c));
+            }
+            else {
+                response.append(c);
+            }
+        }
+        response.append('"');
+    }
+
+    /**
+     * This private helper method writes an error response.
+     * @param response the StringBuilder to write to
+     * @param status the HTTP status of the error
+     * @param message the error message
+     * @return status
+     */
+    private static int error(StringBuilder response, int status, String message) {
+        response.append("{\"error\":");
+        appendString(response, (message == null) ? "Bad request." : message);
+        response.append('}');
+        return status;
+    }
+
+    /**
+     * This private helper method writes the response to a request with a method the endpoint does not support.
+     * @param response the StringBuilder to write to
+     * @return the HTTP status 405
+     */
+    private static int methodNotAllowed(StringBuilder response) {
+        return error(response, STATUS_METHOD_NOT_ALLOWED, "Method not allowed.");
+    }
+
+    /**
+     * This method starts the service from the command line and serves until the program is stopped.
+     * The company is first restored from the snapshot and journal in the data directory, and the journal stays
+     * attached while the service runs, so no change is lost if the program stops. When the program is stopped,
+     * the company is saved to a new snapshot and the journal is emptied. The service exits if another program is
+     * using the data directory.
+     * @param args the options described in the class comment
+     * @throws IOException if the port cannot be opened
+     */
+    public static void main(String[] args) throws IOException {
+        int port = DEFAULT_PORT;
+        int numThreads = Math.max(2, 2 * Runtime.getRuntime().availableProcessors());
+        File dataDirectory = null;
+        ArrayList<File> importFiles = new ArrayList<>();
+        boolean isPayingInCents = false;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String option = args[i];
+                if (option.equals("-cents")) {
+                    isPayingInCents = true;
+                    continue;
+                }
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException("Missing value for " + option + ".");
+                }
+                i++;
+                String value = args[i];
+                if (option.equals("-port")) {
+                    port = Integer.parseInt(value);
+                }
+                else if (option.equals("-threads")) {
+                    numThreads = Integer.parseInt(value);
+                    if (numThreads < 1) {
+                        throw new IllegalArgumentException("Threads must be positive.");
+                    }
+                }
+                else if (option.equals("-import")) {
+                    importFiles.add(new File(value));
+                }
+                else if (option.equals("-data")) {
+                    dataDirectory = new File(value);
+                }
+                else {
+                    throw new IllegalArgumentException("Unknown option " + option + ".");
+                }
+            }
+        }
+        catch (IllegalArgumentException badOption) { //includes NumberFormatException
+            System.err.println(badOption.getMessage());
+            System.err.println(USAGE);
+            System.exit(PayrollRunner.EXIT_USAGE);
+        }
+        if (dataDirectory == null) {
+            dataDirectory = CompanyJournal.getDataDirectory();
+        }
+        Company recovered = new Company();
+        CompanyJournal journal;
+        try {
+            journal = CompanyJournal.recover(dataDirectory, recovered);
+        }
+        catch (IOException error) { //also when another program is using the data directory
+            System.err.println("Employee Data Could Not Be Restored: " + error.getMessage());
+            System.exit(PayrollRunner.EXIT_FAILURE);
+            return;
+        }
+        recovered.setPayingInCents(isPayingInCents);
+        ConcurrentCompany company = new ConcurrentCompany(recovered);
+        for (File importFile : importFiles) {
+            if (!company.importDatabase(importFile, null)) {
+                System.err.println("File Import Failed: " + importFile);
+                System.exit(PayrollRunner.EXIT_FAILURE);
+            }
+        }
+        PayrollService service = new PayrollService(company, port, numThreads);
+        File snapshotFile = new File(dataDirectory, CompanyJournal.SNAPSHOT_FILE_NAME);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            service.stop();
+            if (!company.checkpoint(snapshotFile)) {
+                System.err.println("Checkpoint Failed: " + snapshotFile);
+            }
+            try {
+                journal.close();
+            }
+            catch (IOException error) {
+                System.err.println("Journal could not be closed: " + error.getMessage());
+            }
+        }));
+        service.start();
+        System.err.println("Payroll service listening on http://localhost:" + service.getPort() + "/");
+    }
+}
@@ -0,0 +1,94 @@
+package PayrollProcessingSystem;
+
+/**
+ * This class holds running payroll totals for a group of employees, such as a department or an employee type:
+ * the number of employees, the sum of their payments, the sum of their annual salaries, and the overtime hours
+ * worked by the parttime employees in the group.
+ * @author Kathleen Eife, Isha Vora
+ */
+public class PayrollTotals {
+    private int numEmployee;
+    private double totalPayment;
+    private double totalSalary;
+    private long overtimeHours;
+
+    /**
+     * This default constructor creates totals for an empty group.
+     */
+    PayrollTotals() {
+    }
+
+    /**
+     * This constructor creates a copy of another group's totals.
+     * @param totals the totals to copy
+     */
+    PayrollTotals(PayrollTotals totals) {
+        this.numEmployee = totals.numEmployee;
+        this.totalPayment = totals.totalPayment;
+        this.totalSalary = totals.totalSalary;
+        this.overtimeHours = totals.overtimeHours;
+    }
+
+    /**
+     * This method adds an employee to, or with a sign of -1 removes an employee from, the totals.
+     * @param sign 1 to add the employee, -1 to remove the employee
+     * @param payment the payment of the employee
+     * @param salary the annual salary of the employee, or 0 for a parttime employee
+     * @param overtime the overtime hours of the employee
+     */
+    void add(int sign, float payment, float salary, int overtime) {
+        numEmployee += sign;
+        totalPayment += sign * payment;
+        totalSalary += sign * salary;
+        overtimeHours += sign * overtime;
+        if (numEmployee == 0) { //drop the rounding left by adding and removing, which would show as -0.00
+            totalPayment = 0;
+            totalSalary = 0;
+        }
+    }
+
+    /**
+     * This getter method returns the number of employees in the group.
+     * @return numEmployee the number of employees in the group
+     */
+    public int getNumEmployee() {
+        return numEmployee;
+    }
+
+    /**
+     * This getter method returns the sum of the payments of the employees in the group.
+     * @return totalPayment the sum of the payments
+     */
+    public double getTotalPayment() {
+        return totalPayment;
+    }
+
+    /**
+     * This getter method returns the sum of the annual salaries of the fulltime and management employees in the
+     * group.
+     * @return totalSalary the sum of the annual salaries
+     */
+    public double getTotalSalary() {
+        return totalSalary;
+    }
+
+    /**
+     * This getter method returns the overtime hours worked by the parttime employees in the group.
+     * @return overtimeHours the overtime hours worked
+     */
+    public long getOvertimeHours() {
+        return overtimeHours;
+    }
+
+    /**
+     * This method creates and returns a string representation of the totals.
+     * @return string representation of the totals
+     */
+    @Override
+    public String toString() {
+        StringBuilder totals = new StringBuilder("Employees: ").append(numEmployee).append("::Total Payment $");
+        MoneyFormatter.append(totals, totalPayment).append("::Total Annual Salary $");
+        MoneyFormatter.append(totals, totalSalary).append("::Overtime Hours: ").append(overtimeHours);
+        return totals.toString();
+    }
+}
@@ -55,6 +55,15 @@ public class Profile {
         return (name + "::" + department + "::" + dateHired.getDate());
     }
 
+    /**
+     * This method appends the string representation of an employee's profile attributes to a StringBuilder.
+     * @param statement the StringBuilder to append to
+     */
+    public void appendTo(StringBuilder statement) {
+        statement.append(name).append("::").append(department).append("::").append(dateHired.getMonth())
+                 .append('/').append(dateHired.getDay()).append('/').append(dateHired.getYear());
+    }
+
     /**
      * This method checks if two objects are equal by comparing the name, department and dateHired.
      * @param obj an object
@@ -72,4 +81,16 @@ public class Profile {
         }
         return false;
     }
+
+    /**
+     * This method returns a hash code for the profile that is consistent with equals().
+     * @return hash code computed from the name, department, and dateHired
+     */
+    @Override
+    public int hashCode() {
+        int hash = name.hashCode();
+        hash = 31 * hash + department.hashCode();
+        hash = 31 * hash + dateHired.hashCode();
+        return hash;
+    }
 }
@@ -0,0 +1,27 @@
+package PayrollProcessingSystem;
+
+/**
+ * This interface receives the progress of a long Company operation, such as an import, an export, or a print,
+ * and lets the caller cancel the operation.
+ * The operation calls reportProgress() every PROGRESS_INTERVAL employees from the thread running the operation,
+ * and checks isCancelled() at the same points.
+ * @author Kathleen Eife, Isha Vora
+ */
+public interface ProgressListener {
+
+    int PROGRESS_INTERVAL = 4096;
+
+    /**
+     * This method is called with the progress of the operation so far.
+     * @param numProcessed the number of employees processed so far
+     * @param workDone the amount of work done so far, such as bytes read or employees written
+     * @param totalWork the total amount of work, in the same unit as workDone
+     */
+    void reportProgress(long numProcessed, long workDone, long totalWork);
+
+    /**
+     * This method checks if the operation should stop.
+     * @return true if the operation should stop, false otherwise
+     */
+    boolean isCancelled();
+}
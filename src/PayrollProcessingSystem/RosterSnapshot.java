@@ -0,0 +1,198 @@
+package PayrollProcessingSystem;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * This class is an immutable snapshot of the roster of a company: the employees it had when the snapshot was
+ * taken, in the order they were added, by date hired, and by department.
+ * A snapshot is taken with Company.snapshot() in O(1) when the roster has not changed since the last one, and
+ * stays the same while employees are added to and removed from the company afterwards, so a print, an export, or
+ * a payroll run can work against it while the company keeps changing. The roster is kept in persistent trees, so
+ * a snapshot shares every part of the roster that has not changed since it was taken with the company and with
+ * the other snapshots.
+ * The employees themselves are shared with the company, so a snapshot sees the hours and payments set after it was
+ * taken.
+ * @author Kathleen Eife, Isha Vora
+ */
+public final class RosterSnapshot {
+    private final RosterTree<String> byAddition; //ordered by key alone
+    private final RosterTree<Date> byDate;
+    private final RosterTree<String> byDepartment;
+
+    /**
+     * This constructor creates a snapshot from its trees, which must hold the same employees.
+     * @param byAddition the employees in the order they were added
+     * @param byDate the employees by date hired, then in the order they were added
+     * @param byDepartment the employees by department, then in the order they were added
+     */
+    RosterSnapshot(RosterTree<String> byAddition, RosterTree<Date> byDate, RosterTree<String> byDepartment) {
+        this.byAddition = byAddition;
+        this.byDate = byDate;
+        this.byDepartment = byDepartment;
+    }
+
+    /**
+     * This method returns a snapshot with an employee added.
+     * @param employee an employee that is not in the snapshot
+     * @param key the key of the employee, larger than the key of any employee added before it
+     * @return the new snapshot
+     */
+    RosterSnapshot add(Employee employee, long key) {
+        Profile profile = employee.getEmployeeProfile();
+        return new RosterSnapshot(RosterTree.insert(byAddition, null, key, employee),
+                RosterTree.insert(byDate, profile.getDateHired(), key, employee),
+                RosterTree.insert(byDepartment, profile.getDepartment(), key, employee));
+    }
+
+    /**
+     * This method returns a snapshot with an employee removed.
+     * @param employee an employee in the snapshot
+     * @param key the key the employee was added with
+     * @return the new snapshot
+     */
+    RosterSnapshot remove(Employee employee, long key) {
+        Profile profile = employee.getEmployeeProfile();
+        return new RosterSnapshot(RosterTree.remove(byAddition, null, key),
+                RosterTree.remove(byDate, profile.getDateHired(), key),
+                RosterTree.remove(byDepartment, profile.getDepartment(), key));
+    }
+
+    /**
+     * This getter method returns the number of employees in the snapshot.
+     * @return the number of employees in the snapshot
+     */
+    public int getNumEmployee() {
+        return RosterTree.size(byAddition);
+    }
+
+    /**
+     * This method returns the employees of the snapshot in the order they were added.
+     * @return the employees in the order they were added
+     */
+    Iterable<Employee> getEmployees() {
+        return () -> RosterTree.iterator(byAddition, 0);
+    }
+
+    /**
+     * This method returns a page of the employees in the order they were added, in O(log n + limit).
+     * @param offset the number of employees to skip
+     * @param limit the largest number of employees to return
+     * @return a new list with up to limit employees, starting after the first offset employees
+     */
+    public List<Employee> getPage(int offset, int limit) {
+        return getPage(byAddition, offset, limit);
+    }
+
+    /**
+     * This method returns a page of the employees by date hired, in O(log n + limit).
+     * @param offset the number of employees to skip
+     * @param limit the largest number of employees to return
+     * @return a new list with up to limit employees, starting after the first offset employees
+     */
+    public List<Employee> getPageByDate(int offset, int limit) {
+        return getPage(byDate, offset, limit);
+    }
+
+    /**
+     * This method returns a page of the employees by department, in O(log n + limit).
+     * @param offset the number of employees to skip
+     * @param limit the largest number of employees to return
+     * @return a new list with up to limit employees, starting after the first offset employees
+     */
+    public List<Employee> getPageByDepartment(int offset, int limit) {
+        return getPage(byDepartment, offset, limit);
+    }
+
+    /**
+     * This private helper method returns a page of the employees of a tree.
+     * @param tree the tree of employees
+     * @param offset the number of employees to skip
+     * @param limit the largest number of employees to return
+     * @return a new list with up to limit employees, starting after the first offset employees
+     */
+    private static List<Employee> getPage(RosterTree<?> tree, int offset, int limit) {
+        int start = Math.min(Math.max(offset, 0), RosterTree.size(tree));
+        int pageSize = Math.min(Math.max(limit, 0), RosterTree.size(tree) - start);
+        ArrayList<Employee> page = new ArrayList<>(pageSize);
+        Iterator<Employee> employees = RosterTree.iterator(tree, start);
+        while (page.size() < pageSize) {
+            page.add(employees.next());
+        }
+        return page;
+    }
+
+    /**
+     * This method writes the earning statements for the employees of the snapshot to an Appendable, in the same
+     * format as Company.print().
+     * @param out the Appendable to write to, such as a Writer or a StringBuilder
+     * @param listener the listener to report progress to, or null
+     * @throws IOException if the statements cannot be written
+     * @throws InterruptedIOException if the listener cancels the print
+     */
+    public void print(Appendable out, ProgressListener listener) throws IOException {
+        Company.printStatements(out, Company.PRINT_HEADER, getEmployees(), getNumEmployee(), listener);
+    }
+
+    /**
+     * This method writes the earning statements for the employees of the snapshot by date hired to an Appendable,
+     * in the same format as Company.printByDate().
+     * @param out the Appendable to write to, such as a Writer or a StringBuilder
+     * @param listener the listener to report progress to, or null
+     * @throws IOException if the statements cannot be written
+     * @throws InterruptedIOException if the listener cancels the print
+     */
+    public void printByDate(Appendable out, ProgressListener listener) throws IOException {
+        Company.printStatements(out, Company.PRINT_BY_DATE_HEADER, () -> RosterTree.iterator(byDate, 0),
+                getNumEmployee(), listener);
+    }
+
+    /**
+     * This method writes the earning statements for the employees of the snapshot by department to an
+     * Appendable, in the same format as Company.printByDepartment().
+     * @param out the Appendable to write to, such as a Writer or a StringBuilder
+     * @param listener the listener to report progress to, or null
+     * @throws IOException if the statements cannot be written
+     * @throws InterruptedIOException if the listener cancels the print
+     */
+    public void printByDepartment(Appendable out, ProgressListener listener) throws IOException {
+        Company.printStatements(out, Company.PRINT_BY_DEPARTMENT_HEADER, () -> RosterTree.iterator(byDepartment, 0),
+                getNumEmployee(), listener);
+    }
+
+    /**
+     * This method writes the employees of the snapshot to the target file, in the same format as
+     * Company.exportDatabase().
+     * @param targetFile the file that will be written to with Employee database information
+     * @param listener the listener to report progress to, or null
+     * @return true if the file's output is successful, and false if it fails or is cancelled
+     */
+    public boolean exportDatabase(File targetFile, ProgressListener listener) {
+        return Company.exportStatements(targetFile, getEmployees(), getNumEmployee(), listener);
+    }
+
+    /**
+     * This method computes the payment of every employee in the snapshot without setting it, so that the
+     * employees are not changed while other threads may read them.
+     * @param isInCents true to compute the payments exactly in cents with PayrollCents, false to compute them with
+     * each employee's computePayment()
+     * @return the payments, in the order of getEmployees()
+     */
+    float[] computePayments(boolean isInCents) {
+        float[] payments = new float[getNumEmployee()];
+        if (isInCents) {
+            PayrollCents.computePayments(getEmployees(), payments);
+            return payments;
+        }
+        int index = 0;
+        for (Employee employee : getEmployees()) {
+            payments[index] = employee.computePayment();
+            index++;
+        }
+        return payments;
+    }
+}
@@ -0,0 +1,260 @@
+package PayrollProcessingSystem;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * This class is a node of a persistent, balanced (AVL) binary search tree of employees, where the empty tree is
+ * null. Employees are ordered by a group, such as their date hired or department, and then by a key that gives
+ * the order the employees were added in.
+ * A tree is never changed once it is built. insert() and remove() return a new tree that copies only the nodes on
+ * the path to the change, O(log n) of them, and shares every other node with the old tree, so keeping an old
+ * version of the tree costs only the nodes that changed since.
+ * Each node also holds the size of its subtree, so the employee at any position can be found in O(log n).
+ * @param <G> the type of the group of the employees
+ * @author Kathleen Eife, Isha Vora
+ */
+final class RosterTree<G extends Comparable<? super G>> {
+    private final G group; //null in a tree ordered by key alone
+    private final long key;
+    private final Employee employee;
+    private final RosterTree<G> left;
+    private final RosterTree<G> right;
+    private final int height;
+    private final int size;
+
+    /**
+     * This constructor creates a node with its subtrees, which must already be balanced around it.
+     * @param group the group of the employee, or null
+     * @param key the key of the employee
+     * @param employee the employee
+     * @param left the subtree of the employees before this one, or null
+     * @param right the subtree of the employees after this one, or null
+     */
+    private RosterTree(G group, long key, Employee employee, RosterTree<G> left, RosterTree<G> right) {
+        this.group = group;
+        this.key = key;
+        this.employee = employee;
+        this.left = left;
+        this.right = right;
+        this.height = Math.max(height(left), height(right)) + 1;
+        this.size = size(left) + size(right) + 1;
+    }
+
+    /**
+     * This method returns the number of employees in a tree.
+     * @param tree a tree, or null for the empty tree
+     * @return the number of employees in the tree
+     */
+    static int size(RosterTree<?> tree) {
+        return (tree == null) ? 0 : tree.size;
+    }
+
+    /**
+     * This private helper method returns the height of a tree.
+     * @param tree a tree, or null for the empty tree
+     * @return the height of the tree, which is 0 for the empty tree
+     */
+    private static int height(RosterTree<?> tree) {
+        return (tree == null) ? 0 : tree.height;
+    }
+
+    /**
+     * This private helper method compares the position of a group and key with the position of this node.
+     * @param otherGroup the group, or null
+     * @param otherKey the key
+     * @return a negative number, zero, or a positive number if the group and key come before, at, or after
+     * this node
+     */
+    private int compareToNode(G otherGroup, long otherKey) {
+        if (otherGroup != null) {
+            int groupOrder = otherGroup.compareTo(group);
+            if (groupOrder != 0) {
+                return groupOrder;
+            }
+        }
+        return Long.compare(otherKey, key);
+    }
+
+    /**
+     * This method returns a tree with an employee added.
+     * @param tree a tree, or null for the empty tree
+     * @param group the group of the employee, or null in a tree ordered by key alone
+     * @param key the key of the employee, which must not be in the tree with the same group
+     * @param employee the employee
+     * @param <G> the type of the group of the employees
+     * @return the new tree, sharing all but O(log n) nodes with the old tree
+     */
+    static <G extends Comparable<? super G>> RosterTree<G> insert(RosterTree<G> tree, G group, long key,
+                                                                   Employee employee) {
+        if (tree == null) {
+            return new RosterTree<>(group, key, employee, null, null);
+        }
+        if (tree.compareToNode(group, key) < 0) {
+            return balance(tree, insert(tree.left, group, key, employee), tree.right);
+        }
+        else {
+            return balance(tree, tree.left, insert(tree.right, group, key, employee));
+        }
+    }
+
+    /**
+     * This method returns a tree with an employee removed.
+     * @param tree a tree, or null for the empty tree
+     * @param group the group of the employee, or null in a tree ordered by key alone
+     * @param key the key of the employee
+     * @param <G> the type of the group of the employees
+     * @return the new tree, sharing all but O(log n) nodes with the old tree, or the same tree if the employee
+     * is not in it
+     */
+    static <G extends Comparable<? super G>> RosterTree<G> remove(RosterTree<G> tree, G group, long key) {
+        if (tree == null) {
+            return null;
+        }
+        int order = tree.compareToNode(group, key);
+        if (order < 0) {
+            RosterTree<G> newLeft = remove(tree.left, group, key);
+            return (newLeft == tree.left) ? tree : balance(tree, newLeft, tree.right);
+        }
+        else if (order > 0) {
+            RosterTree<G> newRight = remove(tree.right, group, key);
+            return (newRight == tree.right) ? tree : balance(tree, tree.left, newRight);
+        }
+        if (tree.left == null) {
+            return tree.right;
+        }
+        else if (tree.right == null) {
+            return tree.left;
+        }
+        RosterTree<G> first = tree.right;
+        while (first.left != null) {
+            first = first.left;
+        }
+        return balance(first, tree.left, removeFirst(tree.right));
+    }
+
+    /**
+     * This private helper method returns a tree with its first employee removed.
+     * @param tree a tree that is not empty
+     * @param <G> the type of the group of the employees
+     * @return the new tree
+     */
+    private static <G extends Comparable<? super G>> RosterTree<G> removeFirst(RosterTree<G> tree) {
+        if (tree.left == null) {
+            return tree.right;
+        }
+        return balance(tree, removeFirst(tree.left), tree.right);
+    }
+
+    /**
+     * This private helper method creates a copy of a node with new subtrees, rotating it if one subtree is more
+     * than one level taller than the other.
+     * @param node the node to copy
+     * @param left the new subtree before the node
+     * @param right the new subtree after the node
+     * @param <G> the type of the group of the employees
+     * @return the balanced tree
+     */
+    private static <G extends Comparable<? super G>> RosterTree<G> balance(RosterTree<G> node, RosterTree<G> left,
+                                                                           RosterTree<G> right) {
+        if (height(left) > height(right) + 1) {
+            if (height(left.left) < height(left.right)) { //left-right case: rotate the left subtree first
+                left = copy(left.right, copy(left, left.left, left.right.left), left.right.right);
+            }
+            return copy(left, left.left, copy(node, left.right, right));
+        }
+        else if (height(right) > height(left) + 1) {
+            if (height(right.right) < height(right.left)) { //right-left case: rotate the right subtree first
+                right = copy(right.left, right.left.left, copy(right, right.left.right, right.right));
+            }
+            return copy(right, copy(node, left, right.left), right.right);
+        }
+        return copy(node, left, right);
+    }
+
+    /**
+     * This private helper method creates a copy of a node with new subtrees.
+     * @param node the node to copy
+     * @param left the new subtree before the node
+     * @param right the new subtree after the node
+     * @param <G> the type of the group of the employees
+     * @return the new node
+     */
+    private static <G extends Comparable<? super G>> RosterTree<G> copy(RosterTree<G> node, RosterTree<G> left,
+                                                                        RosterTree<G> right) {
+        return new RosterTree<>(node.group, node.key, node.employee, left, right);
+    }
+
+    /**
+     * This method builds a balanced tree from employees that are already in order, in O(n).
+     * @param groups the groups of the employees, or null in a tree ordered by key alone
+     * @param keys the keys of the employees
+     * @param employees the employees, in the order of the tree
+     * @param start the index of the first employee of the tree
+     * @param end the index one past the last employee of the tree
+     * @param <G> the type of the group of the employees
+     * @return the tree, or null if there are no employees
+     */
+    static <G extends Comparable<? super G>> RosterTree<G> build(G[] groups, long[] keys, Employee[] employees,
+                                                                 int start, int end) {
+        if (start >= end) {
+            return null;
+        }
+        int middle = (start + end) >>> 1;
+        return new RosterTree<>((groups == null) ? null : groups[middle], keys[middle], employees[middle],
+                build(groups, keys, employees, start, middle), build(groups, keys, employees, middle + 1, end));
+    }
+
+    /**
+     * This method returns an iterator over the employees of a tree, in order, starting at a position.
+     * @param tree a tree, or null for the empty tree
+     * @param start the position of the first employee to return
+     * @return an iterator that returns the employees from the position to the end of the tree
+     */
+    static Iterator<Employee> iterator(RosterTree<?> tree, int start) {
+        ArrayDeque<RosterTree<?>> path = new ArrayDeque<>(); //nodes whose employee and right subtree are still to go
+        RosterTree<?> node = tree;
+        int toSkip = start;
+        while (node != null) {
+            int leftSize = size(node.left);
+            if (toSkip <= leftSize) {
+                path.push(node);
+                node = (toSkip == leftSize) ? null : node.left;
+            }
+            else {
+                toSkip -= leftSize + 1;
+                node = node.right;
+            }
+        }
+        return new Iterator<Employee>() {
+            @Override
+            public boolean hasNext() {
+                return !path.isEmpty();
+            }
+
+            @Override
+            public Employee next() {
+                if (path.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                RosterTree<?> next = path.pop();
+                pushLeft(path, next.right);
+                return next.employee;
+            }
+        };
+    }
+
+    /**
+     * This private helper method pushes a node and the nodes down the left edge of its subtree on the path of
+     * an iterator.
+     * @param path the path of the iterator
+     * @param node the node, or null
+     */
+    private static void pushLeft(ArrayDeque<RosterTree<?>> path, RosterTree<?> node) {
+        while (node != null) {
+            path.push(node);
+            node = node.left;
+        }
+    }
+}